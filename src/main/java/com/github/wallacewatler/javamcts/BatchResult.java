@@ -0,0 +1,19 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * The result of one search in a batch.
+ *
+ * @param index The position of {@code root} in the batch.
+ * @param root The state or information set that was searched from.
+ * @param result The result of the search.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @param <ROOT> the type of {@code root}
+ * @param <RESULT> the type of {@code result}
+ *
+ * @see BatchSearch
+ */
+public record BatchResult<ROOT, RESULT>(int index, ROOT root, RESULT result) {}
@@ -0,0 +1,132 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.Workers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Searches many independent roots, such as the positions of a self-play game or a set of puzzles, on a shared pool of
+ * threads. Each search has its own budget, given by the parameters it is called with. Calling a search in a loop from
+ * many threads would start {@link SearchParameters#threadCount()} threads per search and oversubscribe the machine;
+ * here, searches are instead spread over a fixed number of threads by work stealing.
+ * <p>
+ * A search in a batch with more than one thread runs its workers as tasks in the batch's pool rather than starting
+ * threads of its own, so a time limit is then shared by workers that may not all run at once. Searching with one thread
+ * each usually gives the most iterations per core across a batch, since the searches themselves keep every thread busy.
+ *
+ * <pre>{@code
+ * try(BatchSearch batch = new BatchSearch()) {
+ *     SearchParameters params = new SearchParameters(0, 1000, 100000, new UCT(), 1);
+ *     batch.searchAll(positions, new Random(), (state, rand) -> new MCTSRP().search(2, state, params, rand, true))
+ *             .forEach(done -> record(done.root(), done.result().bestAction()));
+ * }
+ * }</pre>
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see BatchResult
+ */
+public final class BatchSearch implements AutoCloseable {
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a batch search with one thread per available processor.
+     */
+    public BatchSearch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism the number of threads to search with
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    public BatchSearch(int parallelism) {
+        if(parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be at least 1");
+
+        pool = Workers.newSharedPool(parallelism);
+    }
+
+    /**
+     * @return The number of threads searched with.
+     */
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Search from each of {@code roots}. The searches start right away; the returned stream yields their results in the
+     * order they complete, waiting for each as needed. {@code rand} is only used to seed a separate source of randomness
+     * for each search, which can be seeded to reproduce a batch of single-threaded searches.
+     *
+     * @param roots the states or information sets to search from
+     * @param rand a source of randomness
+     * @param search performs a search from a root with a given source of randomness, e.g. by calling
+     *               {@link MCTS#search}
+     *
+     * @return A sequential stream of the results, one per root, in order of completion. If a search throws an
+     * exception, the stream throws a {@link CompletionException} caused by it when that search's result is reached.
+     * If the thread using the stream is interrupted while waiting, the stream throws a
+     * {@link CancellationException}.
+     *
+     * @param <ROOT> the type of roots
+     * @param <RESULT> the type of search results
+     */
+    public <ROOT, RESULT> Stream<BatchResult<ROOT, RESULT>> searchAll(Collection<? extends ROOT> roots, Random rand, BiFunction<? super ROOT, Random, ? extends RESULT> search) {
+        final LinkedBlockingQueue<Completion<ROOT, RESULT>> completed = new LinkedBlockingQueue<>();
+        final ArrayList<ROOT> batch = new ArrayList<>(roots);
+        for(int i = 0; i < batch.size(); i++) {
+            final int index = i;
+            final ROOT root = batch.get(i);
+            final Random searchRand = new Random(rand.nextLong());
+            pool.execute(() -> {
+                try {
+                    completed.add(new Completion<>(new BatchResult<>(index, root, search.apply(root, searchRand)), null));
+                } catch(Throwable t) {
+                    completed.add(new Completion<>(null, t));
+                }
+            });
+        }
+
+        return IntStream.range(0, batch.size()).mapToObj(i -> {
+            final Completion<ROOT, RESULT> completion;
+            try {
+                completion = completed.take();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("interrupted while waiting for a search to complete");
+            }
+
+            if(completion.failure() != null)
+                throw new CompletionException(completion.failure());
+            return completion.result();
+        });
+    }
+
+    /**
+     * Wait for the searches that have been started to complete, then stop the threads.
+     */
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchSearch(" + parallelism() + ")";
+    }
+
+    private record Completion<ROOT, RESULT>(BatchResult<ROOT, RESULT> result, Throwable failure) {}
+}
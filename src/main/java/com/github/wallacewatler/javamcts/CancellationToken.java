@@ -0,0 +1,45 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Lets another thread stop a search early, such as when a player leaves the game mid-search. Pass a token to a search
+ * through {@link SearchParameters#withCancellation}. Once it is cancelled, every worker stops within about a millisecond
+ * plus the length of one iteration, regardless of the search's minimum time, and the search returns its results so far
+ * after all of its workers have finished.
+ * <p>
+ * A token can be shared by several searches, e.g. every search of one game, and cancelling it stops all of them. A
+ * cancelled token stays cancelled, so searches started with it afterward return right away.
+ *
+ * <pre>{@code
+ * CancellationToken token = new CancellationToken();
+ * SearchParameters params = new SearchParameters(0, 5000, Integer.MAX_VALUE, new UCT(), 4).withCancellation(token);
+ *
+ * // On the thread that handles disconnects:
+ * token.cancel();
+ * }</pre>
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled = false;
+
+    /**
+     * Stop every search that uses this token. This never waits for the searches to finish.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return True if {@link #cancel()} has been called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return "CancellationToken{cancelled=" + cancelled + '}';
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Settings for reusing determinizations in ISMCTS and MO-ISMCTS. Normally, every iteration starts by calling
+ * {@link InfoSet#determinize}. If determinizing is expensive, such as when hidden cards have to satisfy constraints,
+ * it can cost more than the rest of the iteration. With these settings, each determinization is used for several
+ * iterations, each on its own copy made by {@link InfoSet#copyDeterminization}, which must then be implemented.
+ * Determinizations can also be generated ahead of time by background threads.
+ * <p>
+ * Reusing determinizations samples fewer distinct worlds, so the search may be more biased towards the worlds it
+ * happens to sample. Keep {@code iterations} small relative to the number of iterations in the search.
+ *
+ * @param iterations The number of iterations that use each determinization. A value of 1 uses each determinization
+ *                   once, as when determinizations aren't reused.
+ * @param prefetch The number of determinizations that background threads generate ahead of time, or 0 to have each
+ *                 worker thread generate its own as it needs them. Workers never wait for the background threads;
+ *                 if none are ready, they generate their own. {@link InfoSet#determinize} is then called from several
+ *                 threads at once, as it already is in tree-parallelized search.
+ * @param producerThreads The number of background threads that generate determinizations when {@code prefetch} is
+ *                        positive. Together with {@code iterations} = 1, this pipelines the search: determinizing and
+ *                        searching the tree run on separate threads, and each can be given as many threads as it needs
+ *                        to keep the machine busy.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see SearchParameters#withDeterminizationReuse(DeterminizationReuse)
+ */
+public record DeterminizationReuse(int iterations, int prefetch, int producerThreads) {
+    public DeterminizationReuse {
+        if(iterations < 1)
+            throw new IllegalArgumentException("iterations must be at least 1");
+
+        if(prefetch < 0)
+            throw new IllegalArgumentException("prefetch cannot be negative");
+
+        if(producerThreads < 1)
+            throw new IllegalArgumentException("producerThreads must be at least 1");
+    }
+
+    /**
+     * Convenience constructor that generates determinizations ahead of time on one background thread.
+     */
+    public DeterminizationReuse(int iterations, int prefetch) {
+        this(iterations, prefetch, 1);
+    }
+
+    /**
+     * Convenience constructor that reuses each determinization for {@code iterations} iterations without generating
+     * determinizations in the background.
+     */
+    public DeterminizationReuse(int iterations) {
+        this(iterations, 0, 1);
+    }
+}
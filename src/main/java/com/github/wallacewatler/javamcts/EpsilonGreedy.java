@@ -0,0 +1,27 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Epsilon-greedy selection. With probability {@code epsilon}, a branch is chosen uniformly at random; otherwise, the
+ * branch with the highest average score is chosen. Branches that have never been explored are valued at their parent's
+ * average score. This is the cheapest policy to evaluate, but it explores without regard to how uncertain each branch
+ * is.
+ *
+ * @param epsilon The probability of choosing a random branch, from 0.0 to 1.0.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public record EpsilonGreedy(double epsilon) implements SelectionPolicy {
+    public EpsilonGreedy {
+        if(!(epsilon >= 0 && epsilon <= 1))
+            throw new IllegalArgumentException("epsilon must be between 0 and 1");
+    }
+
+    /**
+     * Convenience constructor for epsilon-greedy selection with {@code epsilon = 0.1}.
+     */
+    public EpsilonGreedy() {
+        this(0.1);
+    }
+}
@@ -17,6 +17,7 @@ import java.util.Random;
  *
  * @see ISMCTSRP Root-parallelized ISMCTS
  * @see ISMCTSTP Tree-parallelized ISMCTS
+ * @see ISMCTSHP Hybrid-parallelized ISMCTS
  */
 public interface ISMCTS {
     /**
@@ -0,0 +1,109 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.ActionSeqNode;
+import com.github.wallacewatler.javamcts.hidden.AmafRecorder;
+import com.github.wallacewatler.javamcts.hidden.DeterminizationProducer;
+import com.github.wallacewatler.javamcts.hidden.Determinizer;
+import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
+
+import java.util.*;
+
+/**
+ * Information set MCTS with hybrid parallelization. The threads are split into groups, each searching its own tree, and the
+ * trees are combined by majority voting. For details on how to use this class, see {@link ISMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see MCTSHP
+ */
+public final class ISMCTSHP implements ISMCTS, Cloneable {
+    private final int treeCount;
+
+    /**
+     * @param treeCount the number of trees to search; if this exceeds the thread count, one tree is searched per
+     *                  thread
+     *
+     * @throws IllegalArgumentException if {@code treeCount} is less than 1
+     */
+    public ISMCTSHP(int treeCount) {
+        if(treeCount < 1)
+            throw new IllegalArgumentException("tree count must be at least 1");
+
+        this.treeCount = treeCount;
+    }
+
+    /**
+     * @return The number of trees to search.
+     */
+    public int treeCount() {
+        return treeCount;
+    }
+
+    @Override
+    public
+    <STATE extends State<ACTION>, ACTION extends StochasticAction<STATE>>
+    SearchResults<ACTION> search(int numPlayers, InfoSet<STATE, ACTION> infoSet, SearchParameters params, Random rand) {
+        if(numPlayers < 1)
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+
+        final List<ACTION> validActions = infoSet.validActions();
+        if(validActions.isEmpty())
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final int numTrees = Math.min(treeCount, params.threadCount());
+
+        // One search tree for each group of threads
+        final ArrayList<ActionSeqNode> rootNodes = new ArrayList<>(numTrees);
+        for(int i = 0; i < numTrees; i++)
+            rootNodes.add(new ActionSeqNode(numPlayers, Procedures.usesVariance(params.selectionPolicy())));
+
+        // Generates determinizations in the background if asked to, for all workers to share
+        final DeterminizationProducer<STATE> producer = DeterminizationProducer.start(infoSet, params.determinizationReuse(), rand);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("ismctshp", params, numTrees, producer, tree -> {
+            final ActionSeqNode rootNode = rootNodes.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final Determinizer<STATE, ACTION> determinizer = new Determinizer<>(infoSet, params.determinizationReuse(), producer, rand);
+            final AmafRecorder amaf = params.rave() == null ? null : new AmafRecorder(params.rave());
+            return () -> {
+                Procedures.iterISMCTS(determinizer, rootNode, params.selectionPolicy(), params.progressiveWidening(), rand, scoreBuffer, amaf);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action by majority voting.
+        final ArrayList<ACTION> votes = new ArrayList<>(rootNodes.size());
+        int numNodes = 0;
+        for(ActionSeqNode root : rootNodes) {
+            votes.add(Procedures.mostVisited(root, validActions, rand));
+            numNodes += root.numNodes();
+        }
+        final ACTION bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "ISMCTS-HP(" + treeCount + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        return treeCount == ((ISMCTSHP) o).treeCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return treeCount;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
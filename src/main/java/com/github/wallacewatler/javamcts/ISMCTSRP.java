@@ -1,10 +1,13 @@
 package com.github.wallacewatler.javamcts;
 
 import com.github.wallacewatler.javamcts.hidden.ActionSeqNode;
+import com.github.wallacewatler.javamcts.hidden.AmafRecorder;
+import com.github.wallacewatler.javamcts.hidden.DeterminizationProducer;
+import com.github.wallacewatler.javamcts.hidden.Determinizer;
 import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Information set MCTS with root parallelization. For details on how to use this class, see {@link ISMCTS}.
@@ -25,54 +28,34 @@ public final class ISMCTSRP implements ISMCTS, Cloneable {
         if(validActions.isEmpty())
             return new SearchResults<>(null, 0, 0, 1, 1);
 
-        // These are shared across threads
-        final long start = System.currentTimeMillis();
-        final AtomicInteger totalIters = new AtomicInteger();
-        // -------------------------------
-
         // One search tree for each thread
         final ArrayList<ActionSeqNode> rootNodes = new ArrayList<>(params.threadCount());
         for(int i = 0; i < params.threadCount(); i++)
-            rootNodes.add(new ActionSeqNode(numPlayers));
+            rootNodes.add(new ActionSeqNode(numPlayers, Procedures.usesVariance(params.selectionPolicy())));
 
-        // Start parallel searches.
-        final Thread[] workers = new Thread[params.threadCount()];
-        for(int workerNum = 0; workerNum < workers.length; workerNum++) {
-            final ActionSeqNode rootNode = rootNodes.get(workerNum);
-            workers[workerNum] = new Thread(() -> {
-                long now = System.currentTimeMillis();
-                int iters = 0;
-                while(!Thread.interrupted() && now - start <= params.maxTime() && (now - start < params.minTime() || iters < params.maxIters())) {
-                    Procedures.iterISMCTS(infoSet, rootNode, params.uct(), rand);
-                    iters++;
-                    now = System.currentTimeMillis();
-                }
-                totalIters.addAndGet(iters);
-            }, "ismctsrp" + workerNum);
-            workers[workerNum].start();
-        }
+        // Generates determinizations in the background if asked to, for all workers to share
+        final DeterminizationProducer<STATE> producer = DeterminizationProducer.start(infoSet, params.determinizationReuse(), rand);
 
-        // Wait for all threads to finish
-        try {
-            for(Thread worker : workers)
-                worker.join();
-        } catch(InterruptedException ignored) {
-            for(Thread worker : workers)
-                worker.interrupt();
-        }
+        final TreeWorkers.Stats stats = TreeWorkers.run("ismctsrp", params, params.threadCount(), producer, tree -> {
+            final ActionSeqNode rootNode = rootNodes.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final Determinizer<STATE, ACTION> determinizer = new Determinizer<>(infoSet, params.determinizationReuse(), producer, rand);
+            final AmafRecorder amaf = params.rave() == null ? null : new AmafRecorder(params.rave());
+            return () -> {
+                Procedures.iterISMCTS(determinizer, rootNode, params.selectionPolicy(), params.progressiveWidening(), rand, scoreBuffer, amaf);
+                return true;
+            };
+        });
 
         // Recommend the most selected action by majority voting.
-        final HashMap<ACTION, Integer> votes = new HashMap<>();
+        final ArrayList<ACTION> votes = new ArrayList<>(rootNodes.size());
         int numNodes = 0;
         for(ActionSeqNode root : rootNodes) {
-            final ACTION action = Procedures.mostVisited(root, validActions, rand);
-            votes.put(action, votes.getOrDefault(action, 0) + 1);
+            votes.add(Procedures.mostVisited(root, validActions, rand));
             numNodes += root.numNodes();
         }
-
-        final ACTION bestAction = votes.entrySet().stream().max(Comparator.comparingInt(Map.Entry::getValue)).get().getKey();
-        final double itersPerThread = (double) totalIters.get() / params.threadCount();
-        return new SearchResults<>(bestAction, itersPerThread, System.currentTimeMillis() - start, numNodes, 0);
+        final ACTION bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, 0);
     }
 
     @Override
@@ -1,12 +1,14 @@
 package com.github.wallacewatler.javamcts;
 
 import com.github.wallacewatler.javamcts.hidden.ActionSeqNode;
+import com.github.wallacewatler.javamcts.hidden.AmafRecorder;
+import com.github.wallacewatler.javamcts.hidden.DeterminizationProducer;
+import com.github.wallacewatler.javamcts.hidden.Determinizer;
 import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
 
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Information set MCTS with tree parallelization. For details on how to use this class, see {@link ISMCTS}.
@@ -28,39 +30,25 @@ public final class ISMCTSTP implements ISMCTS, Cloneable {
             return new SearchResults<>(null, 0, 0, 1, 1);
 
         // These are shared across threads
-        final long start = System.currentTimeMillis();
-        final AtomicInteger iters = new AtomicInteger();
-        final Semaphore iterAllowance = new Semaphore(params.maxIters());
-        final ActionSeqNode rootNode = new ActionSeqNode(numPlayers);
+        final ActionSeqNode rootNode = new ActionSeqNode(numPlayers, Procedures.usesVariance(params.selectionPolicy()));
         // -------------------------------
 
-        // Start parallel searches.
-        final Thread[] workers = new Thread[params.threadCount()];
-        for(int workerNum = 0; workerNum < workers.length; workerNum++) {
-            workers[workerNum] = new Thread(() -> {
-                long now = System.currentTimeMillis();
-                while(!Thread.interrupted() && now - start <= params.maxTime() && (now - start < params.minTime() || iterAllowance.tryAcquire())) {
-                    Procedures.iterISMCTS(infoSet, rootNode, params.uct(), rand);
-                    iters.getAndIncrement();
-                    now = System.currentTimeMillis();
-                }
-            }, "ismctstp" + workerNum);
-            workers[workerNum].start();
-        }
+        // Generates determinizations in the background if asked to, for all workers to share
+        final DeterminizationProducer<STATE> producer = DeterminizationProducer.start(infoSet, params.determinizationReuse(), rand);
 
-        // Wait for all threads to finish
-        try {
-            for(Thread worker : workers)
-                worker.join();
-        } catch(InterruptedException ignored) {
-            for(Thread worker : workers)
-                worker.interrupt();
-        }
+        final TreeWorkers.Stats stats = TreeWorkers.run("ismctstp", params, 1, producer, tree -> {
+            final double[] scoreBuffer = new double[numPlayers];
+            final Determinizer<STATE, ACTION> determinizer = new Determinizer<>(infoSet, params.determinizationReuse(), producer, rand);
+            final AmafRecorder amaf = params.rave() == null ? null : new AmafRecorder(params.rave());
+            return () -> {
+                Procedures.iterISMCTS(determinizer, rootNode, params.selectionPolicy(), params.progressiveWidening(), rand, scoreBuffer, amaf);
+                return true;
+            };
+        });
 
         // Recommend the most selected action. Ties are broken by randomness.
         final ACTION bestAction = Procedures.mostVisited(rootNode, validActions, rand);
-        final double itersPerThread = (double) iters.get() / params.threadCount();
-        return new SearchResults<>(bestAction, itersPerThread, System.currentTimeMillis() - start, rootNode.numNodes(), 0);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), rootNode.numNodes(), 0);
     }
 
     @Override
@@ -42,4 +42,21 @@ public interface InfoSet<STATE, ACTION> {
      * @return A list containing the valid actions for the owner of this information set.
      */
     List<ACTION> validActions();
+
+    /**
+     * Copy a state generated by {@link #determinize}. Mutable parts of the copy must be independent of {@code state}.
+     * This is only called if determinizations are reused; the default implementation throws an
+     * {@code UnsupportedOperationException}.
+     *
+     * @param state a state returned by {@link #determinize}
+     *
+     * @return A copy of {@code state}.
+     *
+     * @since 0.3.0
+     *
+     * @see DeterminizationReuse
+     */
+    default STATE copyDeterminization(STATE state) {
+        throw new UnsupportedOperationException("this information set does not support reusing determinizations");
+    }
 }
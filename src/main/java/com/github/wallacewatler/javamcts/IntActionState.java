@@ -0,0 +1,88 @@
+package com.github.wallacewatler.javamcts;
+
+import java.util.Random;
+
+/**
+ * A game state that is fully visible to all players and whose actions are encoded as integers. This is an alternative
+ * to {@link VisibleState} and {@link DeterministicAction} for games where every action can be identified by an index in
+ * a fixed range, such as a board position or a card number. Searches over these states never create action objects or
+ * hash them, which makes them considerably faster on games with cheap move generation.
+ * <p>
+ * Actions are integers from 0 to {@link #actionCount()} - 1. An action does not involve any randomness and is fully
+ * visible to everyone.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @param <SELF> the type of this state
+ *
+ * @see IntMCTS
+ */
+public interface IntActionState<SELF extends IntActionState<SELF>> {
+    /**
+     * @return An integer representing the player who needs to do an action in this state. Players are numbered from 0
+     * to <i>n</i> - 1, where <i>n</i> is the number of players in the game.
+     */
+    int activePlayer();
+
+    /**
+     * @return The number of distinct actions in the game. This must be the same for every state of a game.
+     */
+    int actionCount();
+
+    /**
+     * Write the valid actions for the active player into {@code out}, starting at index 0. The game has ended if and
+     * only if there are no valid actions.
+     *
+     * @param out an array of length at least {@link #actionCount()}
+     *
+     * @return The number of valid actions written.
+     */
+    int validActions(int[] out);
+
+    /**
+     * Apply {@code action} to this state. This state may be mutated by this method; it is recommended that this state
+     * is mutated into the resulting state and returned as it will likely run faster than creating a new object.
+     *
+     * @param action a valid action for the active player
+     *
+     * @return The result of applying the action to this state.
+     */
+    SELF applyAction(int action);
+
+    /**
+     * @return True if this state is terminal.
+     *
+     * @see State
+     */
+    boolean isTerminal();
+
+    /**
+     * Write the score that each player receives for this terminal state into {@code out}. This is only called on
+     * terminal states.
+     *
+     * @param out an array with one element per player, to be overwritten with the scores
+     */
+    void scoresInto(double[] out);
+
+    /**
+     * @return A copy of this state object. Any data that changes over the course of a game must be deep-copied; other
+     * data may be shared between the original and the copy.
+     */
+    SELF copy();
+
+    /**
+     * Choose one of the valid actions for the active player uniformly at random. This is only called on non-terminal
+     * states. The default implementation picks an element of {@link #validActions(int[])}; implementations can
+     * override it with something faster.
+     *
+     * @param rand a source of randomness
+     * @param scratch an array of length at least {@link #actionCount()} that may be overwritten
+     *
+     * @return A random valid action.
+     */
+    default int randomAction(Random rand, int[] scratch) {
+        return scratch[rand.nextInt(validActions(scratch))];
+    }
+}
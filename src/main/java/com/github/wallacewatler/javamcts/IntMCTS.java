@@ -0,0 +1,43 @@
+package com.github.wallacewatler.javamcts;
+
+import java.util.Random;
+
+/**
+ * Closed loop MCTS over states with integer-encoded actions. This is the same algorithm as {@link MCTS}, but states
+ * implement {@link IntActionState} instead of {@link VisibleState}, and nodes store their children in arrays indexed by
+ * action rather than in hash maps keyed by action objects. Transposition tables are not supported.
+ * <p>
+ * To use {@code IntMCTS}, you'll need to implement {@link IntActionState}. You can then perform the search by calling
+ * {@link IntMCTS#search} on one of the provided {@code IntMCTS} implementations (see below).
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see IntMCTSRP Root-parallelized IntMCTS
+ * @see IntMCTSTP Tree-parallelized IntMCTS
+ * @see IntMCTSHP Hybrid-parallelized IntMCTS
+ */
+public interface IntMCTS {
+    /**
+     * Perform MCTS from a given state. {@code rand} is only used for the algorithm itself, not for any game mechanics.
+     * {@code rand} can be seeded to reproduce single-threaded runs from a particular state.
+     *
+     * @param numPlayers the number of players in the game
+     * @param rootState the state from which to begin the search
+     * @param params the search parameters
+     * @param rand a source of randomness
+     *
+     * @return The search results. The best action is null if {@code rootState} has no valid actions.
+     *
+     * @throws IllegalArgumentException if {@code numPlayers} is less than 1, or if {@code params} has a selection policy
+     * other than UCT, RAVE, or progressive widening
+     *
+     * @param <STATE> the type of state this MCTS operates on
+     *
+     * @see SearchParameters
+     * @see SearchResults
+     */
+    <STATE extends IntActionState<STATE>>
+    SearchResults<Integer> search(int numPlayers, STATE rootState, SearchParameters params, Random rand);
+}
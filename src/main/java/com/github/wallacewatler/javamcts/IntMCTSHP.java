@@ -0,0 +1,104 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.IntStateNode;
+import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
+
+import java.util.*;
+
+/**
+ * Closed loop MCTS on integer-encoded actions with hybrid parallelization. The threads are split into groups, each
+ * searching its own tree, and the trees are combined by majority voting. For details on how to use this class, see
+ * {@link IntMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see MCTSHP
+ */
+public final class IntMCTSHP implements IntMCTS, Cloneable {
+    private final int treeCount;
+
+    /**
+     * @param treeCount the number of trees to search; if this exceeds the thread count, one tree is searched per
+     *                  thread
+     *
+     * @throws IllegalArgumentException if {@code treeCount} is less than 1
+     */
+    public IntMCTSHP(int treeCount) {
+        if(treeCount < 1)
+            throw new IllegalArgumentException("tree count must be at least 1");
+
+        this.treeCount = treeCount;
+    }
+
+    /**
+     * @return The number of trees to search.
+     */
+    public int treeCount() {
+        return treeCount;
+    }
+
+    @Override
+    public
+    <STATE extends IntActionState<STATE>>
+    SearchResults<Integer> search(int numPlayers, STATE rootState, SearchParameters params, Random rand) {
+        if(numPlayers < 1)
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+
+        final UCT uct = Procedures.requireUct(params, "IntMCTS-HP");
+
+        final int numTrees = Math.min(treeCount, params.threadCount());
+
+        // One search tree for each group of threads
+        final ArrayList<IntStateNode<STATE>> rootNodes = new ArrayList<>(numTrees);
+        for(int i = 0; i < numTrees; i++)
+            rootNodes.add(new IntStateNode<>(numPlayers, rootState));
+
+        if(rootNodes.get(0).numBranches() == 0)
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("intmctshp", params, numTrees, tree -> {
+            final IntStateNode<STATE> rootNode = rootNodes.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final int[] actionBuffer = new int[rootState.actionCount()];
+            return () -> {
+                Procedures.iterIntMCTS(rootNode, uct, rand, scoreBuffer, actionBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action by majority voting.
+        final ArrayList<Integer> votes = new ArrayList<>(rootNodes.size());
+        int numNodes = 0;
+        for(IntStateNode<STATE> root : rootNodes) {
+            votes.add(Procedures.mostVisited(root, rand));
+            numNodes += root.numNodes();
+        }
+        final Integer bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "IntMCTS-HP(" + treeCount + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        return treeCount == ((IntMCTSHP) o).treeCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return treeCount;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
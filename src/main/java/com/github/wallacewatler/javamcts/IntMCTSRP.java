@@ -0,0 +1,76 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.IntStateNode;
+import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
+
+import java.util.*;
+
+/**
+ * Closed loop MCTS on integer-encoded actions with root parallelization. For details on how to use this class, see
+ * {@link IntMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class IntMCTSRP implements IntMCTS, Cloneable {
+    @Override
+    public
+    <STATE extends IntActionState<STATE>>
+    SearchResults<Integer> search(int numPlayers, STATE rootState, SearchParameters params, Random rand) {
+        if(numPlayers < 1)
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+
+        final UCT uct = Procedures.requireUct(params, "IntMCTS-RP");
+
+        // One search tree for each thread
+        final ArrayList<IntStateNode<STATE>> rootNodes = new ArrayList<>(params.threadCount());
+        for(int i = 0; i < params.threadCount(); i++)
+            rootNodes.add(new IntStateNode<>(numPlayers, rootState));
+
+        if(rootNodes.get(0).numBranches() == 0)
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("intmctsrp", params, params.threadCount(), tree -> {
+            final IntStateNode<STATE> rootNode = rootNodes.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final int[] actionBuffer = new int[rootState.actionCount()];
+            return () -> {
+                Procedures.iterIntMCTS(rootNode, uct, rand, scoreBuffer, actionBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action by majority voting.
+        final ArrayList<Integer> votes = new ArrayList<>(rootNodes.size());
+        int numNodes = 0;
+        for(IntStateNode<STATE> root : rootNodes) {
+            votes.add(Procedures.mostVisited(root, rand));
+            numNodes += root.numNodes();
+        }
+        final Integer bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "IntMCTS-RP";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.IntStateNode;
+import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
+
+import java.util.Random;
+
+/**
+ * Closed loop MCTS on integer-encoded actions with tree parallelization. For details on how to use this class, see
+ * {@link IntMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class IntMCTSTP implements IntMCTS, Cloneable {
+    @Override
+    public
+    <STATE extends IntActionState<STATE>>
+    SearchResults<Integer> search(int numPlayers, STATE rootState, SearchParameters params, Random rand) {
+        if(numPlayers < 1)
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+
+        final UCT uct = Procedures.requireUct(params, "IntMCTS-TP");
+
+        // These are shared across threads
+        final IntStateNode<STATE> rootNode = new IntStateNode<>(numPlayers, rootState);
+        // -------------------------------
+
+        if(rootNode.numBranches() == 0)
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("intmctstp", params, 1, tree -> {
+            final double[] scoreBuffer = new double[numPlayers];
+            final int[] actionBuffer = new int[rootState.actionCount()];
+            return () -> {
+                Procedures.iterIntMCTS(rootNode, uct, rand, scoreBuffer, actionBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action.
+        final int bestAction = Procedures.mostVisited(rootNode, rand);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), rootNode.numNodes(), 0);
+    }
+
+    @Override
+    public String toString() {
+        return "IntMCTS-TP";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
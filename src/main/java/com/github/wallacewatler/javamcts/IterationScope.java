@@ -0,0 +1,25 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Determines what the iteration limit in {@link SearchParameters} applies to.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see SearchParameters
+ */
+public enum IterationScope {
+    /**
+     * The iteration limit applies to each search tree. Root-parallelized searches build one tree per thread, so the
+     * limit applies to each thread; tree-parallelized searches build a single tree, so the limit is shared by all
+     * threads.
+     */
+    PER_TREE,
+
+    /** The iteration limit is shared by all threads, regardless of how many trees are built. */
+    GLOBAL,
+
+    /** The iteration limit applies to each thread, regardless of how many trees are built. */
+    PER_THREAD
+}
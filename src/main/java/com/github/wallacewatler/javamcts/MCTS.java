@@ -18,6 +18,8 @@ import java.util.Random;
  *
  * @see MCTSRP Root-parallelized MCTS
  * @see MCTSTP Tree-parallelized MCTS
+ * @see MCTSHP Hybrid-parallelized MCTS
+ * @see ZeroSumMCTSTP Two-player zero-sum MCTS
  */
 public interface MCTS {
     /**
@@ -25,6 +27,10 @@ public interface MCTS {
      * only used for the algorithm itself, not for any game mechanics. {@code rand} can be seeded to reproduce
      * single-threaded runs from a particular state.
      * <p>
+     * The search also proves the outcome of states where it can: a state is proven once a proven action gives the
+     * active player {@link VisibleState#maxScore()}, or once every action is proven. Proven subtrees aren't simulated
+     * any further, and the search returns early if the outcome from {@code rootState} is proven.
+     * <p>
      * If a transposition table is used, the {@code STATE} type should have {@link Object#equals} and
      * {@link Object#hashCode} defined as its objects will be used as keys in a {@link java.util.HashMap HashMap}.
      *
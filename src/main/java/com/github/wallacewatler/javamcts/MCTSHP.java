@@ -0,0 +1,105 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.*;
+
+import java.util.*;
+
+/**
+ * Closed loop MCTS with hybrid parallelization. The threads are split into groups, and each group searches its own tree
+ * as in tree parallelization. The trees are then combined by majority voting as in root parallelization. The number of
+ * trees can be matched to the machine's topology, e.g. one tree per socket or core complex, so that threads sharing a
+ * tree also share a cache. For details on how to use this class, see {@link MCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class MCTSHP implements MCTS, Cloneable {
+    private final int treeCount;
+
+    /**
+     * @param treeCount the number of trees to search; if this exceeds the thread count, one tree is searched per
+     *                  thread
+     *
+     * @throws IllegalArgumentException if {@code treeCount} is less than 1
+     */
+    public MCTSHP(int treeCount) {
+        if(treeCount < 1)
+            throw new IllegalArgumentException("tree count must be at least 1");
+
+        this.treeCount = treeCount;
+    }
+
+    /**
+     * @return The number of trees to search.
+     */
+    public int treeCount() {
+        return treeCount;
+    }
+
+    @Override
+    public
+    <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SearchResults<ACTION> search(int numPlayers, STATE rootState, SearchParameters params, Random rand, boolean useTable) {
+        if(numPlayers < 1)
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+
+        if(rootState.validActions().isEmpty())
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final int numTrees = Math.min(treeCount, params.threadCount());
+
+        // One search tree and transposition table for each group of threads
+        final ArrayList<StateNode<STATE, ACTION>> rootNodes = new ArrayList<>(numTrees);
+        final ArrayList<TranspositionTable<STATE, ACTION>> tables = new ArrayList<>(numTrees);
+        for(int i = 0; i < numTrees; i++) {
+            rootNodes.add(new StateNode<>(numPlayers, rootState, Procedures.usesVariance(params.selectionPolicy())));
+            tables.add(useTable ? new RealTable<>() : new DummyTable<>());
+        }
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("mctshp", params, numTrees, tree -> {
+            final StateNode<STATE, ACTION> rootNode = rootNodes.get(tree);
+            final TranspositionTable<STATE, ACTION> table = tables.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final AmafRecorder amaf = params.rave() == null ? null : new AmafRecorder(params.rave());
+            // Stop early once the outcome from the root has been proven.
+            return () -> Procedures.iterMCTS(rootNode, params.selectionPolicy(), params.progressiveWidening(), rand, table, scoreBuffer, amaf);
+        });
+
+        // Recommend an action by majority voting. Each tree votes for its proven best action if it has one, or its most
+        // selected action otherwise.
+        final ArrayList<ACTION> votes = new ArrayList<>(numTrees);
+        int numNodes = 0;
+        int numStates = 0;
+        for(int i = 0; i < numTrees; i++) {
+            final StateNode<STATE, ACTION> root = rootNodes.get(i);
+            votes.add(Procedures.bestAction(root, rand));
+            numNodes += root.numNodes();
+            numStates += tables.get(i).size();
+        }
+        final ACTION bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, numStates);
+    }
+
+    @Override
+    public String toString() {
+        return "MCTS-HP(" + treeCount + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        return treeCount == ((MCTSHP) o).treeCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return treeCount;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
@@ -3,7 +3,6 @@ package com.github.wallacewatler.javamcts;
 import com.github.wallacewatler.javamcts.hidden.*;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Closed loop MCTS with root parallelization. For details on how to use this class, see {@link MCTS}.
@@ -23,56 +22,36 @@ public final class MCTSRP implements MCTS, Cloneable {
         if(rootState.validActions().isEmpty())
             return new SearchResults<>(null, 0, 0, 1, 1);
 
-        // These are shared across threads
-        final long start = System.currentTimeMillis();
-        final AtomicInteger totalIters = new AtomicInteger();
-        final AtomicInteger numStates = new AtomicInteger();
-        // -------------------------------
-
-        // One search tree for each thread
+        // One search tree and transposition table for each thread
         final ArrayList<StateNode<STATE, ACTION>> rootNodes = new ArrayList<>(params.threadCount());
-        for(int i = 0; i < params.threadCount(); i++)
-            rootNodes.add(new StateNode<>(numPlayers, rootState));
-
-        // Start parallel searches.
-        final Thread[] workers = new Thread[params.threadCount()];
-        for(int workerNum = 0; workerNum < workers.length; workerNum++) {
-            final StateNode<STATE, ACTION> rootNode = rootNodes.get(workerNum);
-            workers[workerNum] = new Thread(() -> {
-                final TranspositionTable<STATE, ACTION> table = useTable ? new RealTable<>() : new DummyTable<>();
-                long now = System.currentTimeMillis();
-                int iters = 0;
-                while(!Thread.interrupted() && now - start <= params.maxTime() && (now - start < params.minTime() || iters < params.maxIters())) {
-                    Procedures.iterMCTS(rootNode, params.uct(), rand, table);
-                    iters++;
-                    now = System.currentTimeMillis();
-                }
-                numStates.getAndAdd(table.size());
-                totalIters.getAndAdd(iters);
-            }, "mctsrp" + workerNum);
-            workers[workerNum].start();
+        final ArrayList<TranspositionTable<STATE, ACTION>> tables = new ArrayList<>(params.threadCount());
+        for(int i = 0; i < params.threadCount(); i++) {
+            rootNodes.add(new StateNode<>(numPlayers, rootState, Procedures.usesVariance(params.selectionPolicy())));
+            tables.add(useTable ? new RealTable<>() : new DummyTable<>());
         }
 
-        // Wait for all threads to finish
-        try {
-            for(Thread worker : workers)
-                worker.join();
-        } catch(InterruptedException ignored) {
-            for(Thread worker : workers)
-                worker.interrupt();
-        }
+        final TreeWorkers.Stats stats = TreeWorkers.run("mctsrp", params, params.threadCount(), tree -> {
+            final StateNode<STATE, ACTION> rootNode = rootNodes.get(tree);
+            final TranspositionTable<STATE, ACTION> table = tables.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final AmafRecorder amaf = params.rave() == null ? null : new AmafRecorder(params.rave());
+            // Stop early once the outcome from the root has been proven.
+            return () -> Procedures.iterMCTS(rootNode, params.selectionPolicy(), params.progressiveWidening(), rand, table, scoreBuffer, amaf);
+        });
 
-        // Recommend the most selected action by majority voting.
-        final HashMap<ACTION, Integer> votes = new HashMap<>();
+        // Recommend an action by majority voting. Each tree votes for its proven best action if it has one, or its most
+        // selected action otherwise.
+        final ArrayList<ACTION> votes = new ArrayList<>(params.threadCount());
         int numNodes = 0;
-        for(StateNode<STATE, ACTION> root : rootNodes) {
-            final ACTION action = Procedures.mostVisited(root, root.validActions(), rand);
-            votes.put(action, votes.getOrDefault(action, 0) + 1);
+        int numStates = 0;
+        for(int i = 0; i < params.threadCount(); i++) {
+            final StateNode<STATE, ACTION> root = rootNodes.get(i);
+            votes.add(Procedures.bestAction(root, rand));
             numNodes += root.numNodes();
+            numStates += tables.get(i).size();
         }
-        final ACTION bestAction = votes.entrySet().stream().max(Comparator.comparingInt(Map.Entry::getValue)).get().getKey();
-        final double itersPerThread = (double) totalIters.get() / params.threadCount();
-        return new SearchResults<>(bestAction, itersPerThread, System.currentTimeMillis() - start, numNodes, numStates.get());
+        final ACTION bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, numStates);
     }
 
     @Override
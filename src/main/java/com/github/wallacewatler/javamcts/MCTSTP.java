@@ -3,8 +3,6 @@ package com.github.wallacewatler.javamcts;
 import com.github.wallacewatler.javamcts.hidden.*;
 
 import java.util.*;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Closed loop MCTS with tree parallelization. For details on how to use this class, see {@link MCTS}.
@@ -22,43 +20,23 @@ public final class MCTSTP implements MCTS, Cloneable {
             throw new IllegalArgumentException("numPlayers must be at least 1");
 
         // These are shared across threads
-        final long start = System.currentTimeMillis();
-        final AtomicInteger iters = new AtomicInteger();
-        final Semaphore iterAllowance = new Semaphore(params.maxIters());
-        final StateNode<STATE, ACTION> rootNode = new StateNode<>(numPlayers, rootState);
+        final StateNode<STATE, ACTION> rootNode = new StateNode<>(numPlayers, rootState, Procedures.usesVariance(params.selectionPolicy()));
         final TranspositionTable<STATE, ACTION> table = useTable ? new RealTable<>() : new DummyTable<>();
         // -------------------------------
 
         if(rootNode.validActions().isEmpty())
             return new SearchResults<>(null, 0, 0, 1, 1);
 
-        // Start parallel searches.
-        final Thread[] workers = new Thread[params.threadCount()];
-        for(int workerNum = 0; workerNum < workers.length; workerNum++) {
-            workers[workerNum] = new Thread(() -> {
-                long now = System.currentTimeMillis();
-                while(!Thread.interrupted() && now - start <= params.maxTime() && (now - start < params.minTime() || iterAllowance.tryAcquire())) {
-                    Procedures.iterMCTS(rootNode, params.uct(), rand, table);
-                    iters.getAndIncrement();
-                    now = System.currentTimeMillis();
-                }
-            }, "mctstp" + workerNum);
-            workers[workerNum].start();
-        }
+        final TreeWorkers.Stats stats = TreeWorkers.run("mctstp", params, 1, tree -> {
+            final double[] scoreBuffer = new double[numPlayers];
+            final AmafRecorder amaf = params.rave() == null ? null : new AmafRecorder(params.rave());
+            // Stop early once the outcome from the root has been proven.
+            return () -> Procedures.iterMCTS(rootNode, params.selectionPolicy(), params.progressiveWidening(), rand, table, scoreBuffer, amaf);
+        });
 
-        // Wait for all threads to finish
-        try {
-            for(Thread worker : workers)
-                worker.join();
-        } catch(InterruptedException ignored) {
-            for(Thread worker : workers)
-                worker.interrupt();
-        }
-
-        // Recommend the most selected action.
-        final double itersPerThread = (double) iters.get() / params.threadCount();
-        final ACTION bestAction = Procedures.mostVisited(rootNode, rootNode.validActions(), rand);
-        return new SearchResults<>(bestAction, itersPerThread, System.currentTimeMillis() - start, rootNode.numNodes(), table.size());
+        // Recommend the proven best action if there is one, or the most selected action otherwise.
+        final ACTION bestAction = Procedures.bestAction(rootNode, rand);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), rootNode.numNodes(), table.size());
     }
 
     @Override
@@ -21,6 +21,7 @@ import java.util.Random;
  *
  * @see MOISMCTSRP Root-parallelized MO-ISMCTS
  * @see MOISMCTSTP Tree-parallelized MO-ISMCTS
+ * @see MOISMCTSHP Hybrid-parallelized MO-ISMCTS
  */
 public interface MOISMCTS {
     /**
@@ -0,0 +1,125 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.ActiveMoves;
+import com.github.wallacewatler.javamcts.hidden.DeterminizationProducer;
+import com.github.wallacewatler.javamcts.hidden.Determinizer;
+import com.github.wallacewatler.javamcts.hidden.JointPath;
+import com.github.wallacewatler.javamcts.hidden.LockStripes;
+import com.github.wallacewatler.javamcts.hidden.MoveIds;
+import com.github.wallacewatler.javamcts.hidden.MoveSeqNode;
+import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
+
+import java.util.*;
+
+/**
+ * MO-ISMCTS with hybrid parallelization. The threads are split into groups, each searching its own tree, and the
+ * trees are combined by majority voting. For details on how to use this class, see {@link MOISMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see MCTSHP
+ */
+public final class MOISMCTSHP implements MOISMCTS, Cloneable {
+    private final int treeCount;
+
+    /**
+     * @param treeCount the number of trees to search; if this exceeds the thread count, one tree is searched per
+     *                  thread
+     *
+     * @throws IllegalArgumentException if {@code treeCount} is less than 1
+     */
+    public MOISMCTSHP(int treeCount) {
+        if(treeCount < 1)
+            throw new IllegalArgumentException("tree count must be at least 1");
+
+        this.treeCount = treeCount;
+    }
+
+    /**
+     * @return The number of trees to search.
+     */
+    public int treeCount() {
+        return treeCount;
+    }
+
+    @Override
+    public
+    <STATE extends State<ACTION>, ACTION extends ObservableAction<STATE>>
+    SearchResults<ACTION> search(int numPlayers, InfoSet<STATE, ACTION> infoSet, SearchParameters params, Random rand) {
+        if(numPlayers < 1)
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+
+        final List<ACTION> validActions = infoSet.validActions();
+        if(validActions.isEmpty())
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final int numTrees = Math.min(treeCount, params.threadCount());
+
+        // These are shared across threads
+        final MoveIds moveIds = new MoveIds();
+        // -------------------------------
+
+        // The root node for each player's tree for each group of threads. Trees searched by several threads can't share
+        // locks between nodes.
+        final ArrayList<ArrayList<MoveSeqNode>> trees = new ArrayList<>(numTrees);
+        for(int tree = 0; tree < numTrees; tree++) {
+            final LockStripes locks = numTrees == params.threadCount() ? new LockStripes() : null;
+            final ArrayList<MoveSeqNode> rootNodes = new ArrayList<>(numPlayers);
+            for(int i = 0; i < numPlayers; i++)
+                rootNodes.add(new MoveSeqNode(locks, Procedures.usesVariance(params.selectionPolicy())));
+
+            trees.add(rootNodes);
+        }
+
+        // Generates determinizations in the background if asked to, for all workers to share
+        final DeterminizationProducer<STATE> producer = DeterminizationProducer.start(infoSet, params.determinizationReuse(), rand);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("moismctshp", params, numTrees, producer, tree -> {
+            final ArrayList<MoveSeqNode> rootNodes = trees.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final Determinizer<STATE, ACTION> determinizer = new Determinizer<>(infoSet, params.determinizationReuse(), producer, rand);
+            final JointPath path = new JointPath(numPlayers);
+            final ActiveMoves<STATE, ACTION> activeMoves = new ActiveMoves<>(moveIds);
+            return () -> {
+                Procedures.iterMOISMCTS(determinizer, rootNodes, path, activeMoves, params.selectionPolicy(), params.progressiveWidening(), rand, scoreBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action by majority voting.
+        final ArrayList<ACTION> votes = new ArrayList<>(trees.size());
+        int numNodes = 0;
+        for(ArrayList<MoveSeqNode> rootNodes : trees) {
+            final MoveSeqNode root = rootNodes.get(infoSet.owner());
+            votes.add(Procedures.mostVisited(root, infoSet, validActions, moveIds, rand));
+            numNodes += root.numNodes();
+        }
+        final ACTION bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "MO-ISMCTS-HP(" + treeCount + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        return treeCount == ((MOISMCTSHP) o).treeCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return treeCount;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
@@ -1,10 +1,16 @@
 package com.github.wallacewatler.javamcts;
 
+import com.github.wallacewatler.javamcts.hidden.ActiveMoves;
+import com.github.wallacewatler.javamcts.hidden.DeterminizationProducer;
+import com.github.wallacewatler.javamcts.hidden.Determinizer;
+import com.github.wallacewatler.javamcts.hidden.JointPath;
+import com.github.wallacewatler.javamcts.hidden.LockStripes;
+import com.github.wallacewatler.javamcts.hidden.MoveIds;
 import com.github.wallacewatler.javamcts.hidden.MoveSeqNode;
 import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * MO-ISMCTS with root parallelization. For details on how to use this class, see {@link MOISMCTS}.
@@ -26,59 +32,45 @@ public final class MOISMCTSRP implements MOISMCTS, Cloneable {
             return new SearchResults<>(null, 0, 0, 1, 1);
 
         // These are shared across threads
-        final long start = System.currentTimeMillis();
-        final AtomicInteger totalIters = new AtomicInteger();
+        final MoveIds moveIds = new MoveIds();
         // -------------------------------
 
         // The root node for each player's tree for each thread
         final ArrayList<ArrayList<MoveSeqNode>> trees = new ArrayList<>(params.threadCount());
         for(int thread = 0; thread < params.threadCount(); thread++) {
+            final LockStripes locks = new LockStripes();
             final ArrayList<MoveSeqNode> rootNodes = new ArrayList<>(numPlayers);
             for(int i = 0; i < numPlayers; i++)
-                rootNodes.add(new MoveSeqNode());
+                rootNodes.add(new MoveSeqNode(locks, Procedures.usesVariance(params.selectionPolicy())));
 
             trees.add(rootNodes);
         }
 
-        // Start parallel searches.
-        final Thread[] workers = new Thread[params.threadCount()];
-        for(int workerNum = 0; workerNum < workers.length; workerNum++) {
-            final ArrayList<MoveSeqNode> rootNodes = trees.get(workerNum);
-            workers[workerNum] = new Thread(() -> {
-                long now = System.currentTimeMillis();
-                int iters = 0;
-                while(!Thread.interrupted() && now - start <= params.maxTime() && (now - start < params.minTime() || iters < params.maxIters())) {
-                    Procedures.iterMOISMCTS(infoSet, rootNodes, params.uct(), rand);
-                    iters++;
-                    now = System.currentTimeMillis();
-                }
-                totalIters.addAndGet(iters);
-            }, "moismctsrp" + workerNum);
-            workers[workerNum].start();
-        }
+        // Generates determinizations in the background if asked to, for all workers to share
+        final DeterminizationProducer<STATE> producer = DeterminizationProducer.start(infoSet, params.determinizationReuse(), rand);
 
-        // Wait for all threads to finish
-        try {
-            for(Thread worker : workers)
-                worker.join();
-        } catch(InterruptedException ignored) {
-            for(Thread worker : workers)
-                worker.interrupt();
-        }
+        final TreeWorkers.Stats stats = TreeWorkers.run("moismctsrp", params, params.threadCount(), producer, tree -> {
+            final ArrayList<MoveSeqNode> rootNodes = trees.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final Determinizer<STATE, ACTION> determinizer = new Determinizer<>(infoSet, params.determinizationReuse(), producer, rand);
+            final JointPath path = new JointPath(numPlayers);
+            final ActiveMoves<STATE, ACTION> activeMoves = new ActiveMoves<>(moveIds);
+            return () -> {
+                Procedures.iterMOISMCTS(determinizer, rootNodes, path, activeMoves, params.selectionPolicy(), params.progressiveWidening(), rand, scoreBuffer);
+                return true;
+            };
+        });
 
         // Recommend the most selected action by majority voting.
-        final HashMap<ACTION, Integer> votes = new HashMap<>();
+        final ArrayList<ACTION> votes = new ArrayList<>(trees.size());
         int numNodes = 0;
         for(ArrayList<MoveSeqNode> rootNodes : trees) {
             final MoveSeqNode root = rootNodes.get(infoSet.owner());
-            final ACTION action = Procedures.mostVisited(root, infoSet.validActions(), rand);
-            votes.put(action, votes.getOrDefault(action, 0) + 1);
+            votes.add(Procedures.mostVisited(root, infoSet, validActions, moveIds, rand));
             numNodes += root.numNodes();
         }
-
-        final ACTION bestAction = votes.entrySet().stream().max(Comparator.comparingInt(Map.Entry::getValue)).get().getKey();
-        final double itersPerThread = (double) totalIters.get() / params.threadCount();
-        return new SearchResults<>(bestAction, itersPerThread, System.currentTimeMillis() - start, numNodes, 0);
+        final ACTION bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, 0);
     }
 
     @Override
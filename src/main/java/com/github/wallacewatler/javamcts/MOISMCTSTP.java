@@ -1,11 +1,16 @@
 package com.github.wallacewatler.javamcts;
 
+import com.github.wallacewatler.javamcts.hidden.ActiveMoves;
+import com.github.wallacewatler.javamcts.hidden.DeterminizationProducer;
+import com.github.wallacewatler.javamcts.hidden.Determinizer;
+import com.github.wallacewatler.javamcts.hidden.JointPath;
+import com.github.wallacewatler.javamcts.hidden.LockStripes;
+import com.github.wallacewatler.javamcts.hidden.MoveIds;
 import com.github.wallacewatler.javamcts.hidden.MoveSeqNode;
 import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
 
 import java.util.*;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * MO-ISMCTS with tree parallelization. For details on how to use this class, see {@link MOISMCTS}.
@@ -27,43 +32,32 @@ public final class MOISMCTSTP implements MOISMCTS, Cloneable {
             return new SearchResults<>(null, 0, 0, 1, 1);
 
         // These are shared across threads
-        final long start = System.currentTimeMillis();
-        final AtomicInteger iters = new AtomicInteger();
-        final Semaphore iterAllowance = new Semaphore(params.maxIters());
-        // The root node for each player's tree
+        final MoveIds moveIds = new MoveIds();
+        // The root node for each player's tree. Trees searched by several threads can't share locks between nodes.
+        final LockStripes locks = params.threadCount() == 1 ? new LockStripes() : null;
         final ArrayList<MoveSeqNode> rootNodes = new ArrayList<>(numPlayers);
         for(int i = 0; i < numPlayers; i++)
-            rootNodes.add(new MoveSeqNode());
+            rootNodes.add(new MoveSeqNode(locks, Procedures.usesVariance(params.selectionPolicy())));
         // -------------------------------
 
-        // Start parallel searches.
-        final Thread[] workers = new Thread[params.threadCount()];
-        for(int workerNum = 0; workerNum < workers.length; workerNum++) {
-            workers[workerNum] = new Thread(() -> {
-                long now = System.currentTimeMillis();
-                while(!Thread.interrupted() && now - start <= params.maxTime() && (now - start < params.minTime() || iterAllowance.tryAcquire())) {
-                    Procedures.iterMOISMCTS(infoSet, rootNodes, params.uct(), rand);
-                    iters.getAndIncrement();
-                    now = System.currentTimeMillis();
-                }
-            }, "moismctstp" + workerNum);
-            workers[workerNum].start();
-        }
+        // Generates determinizations in the background if asked to, for all workers to share
+        final DeterminizationProducer<STATE> producer = DeterminizationProducer.start(infoSet, params.determinizationReuse(), rand);
 
-        // Wait for all threads to finish
-        try {
-            for(Thread worker : workers)
-                worker.join();
-        } catch(InterruptedException ignored) {
-            for(Thread worker : workers)
-                worker.interrupt();
-        }
+        final TreeWorkers.Stats stats = TreeWorkers.run("moismctstp", params, 1, producer, tree -> {
+            final double[] scoreBuffer = new double[numPlayers];
+            final Determinizer<STATE, ACTION> determinizer = new Determinizer<>(infoSet, params.determinizationReuse(), producer, rand);
+            final JointPath path = new JointPath(numPlayers);
+            final ActiveMoves<STATE, ACTION> activeMoves = new ActiveMoves<>(moveIds);
+            return () -> {
+                Procedures.iterMOISMCTS(determinizer, rootNodes, path, activeMoves, params.selectionPolicy(), params.progressiveWidening(), rand, scoreBuffer);
+                return true;
+            };
+        });
 
         // Recommend the most selected action. Ties are broken by randomness.
         final MoveSeqNode rootNode = rootNodes.get(infoSet.owner());
-        final ACTION bestAction = Procedures.mostVisited(rootNode, validActions, rand);
-        final double itersPerThread = (double) iters.get() / params.threadCount();
-        return new SearchResults<>(bestAction, itersPerThread, System.currentTimeMillis() - start, rootNode.numNodes(), 0);
+        final ACTION bestAction = Procedures.mostVisited(rootNode, infoSet, validActions, moveIds, rand);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), rootNode.numNodes(), 0);
     }
 
     @Override
@@ -19,6 +19,7 @@ import java.util.Random;
  *
  * @see OLMCTSRP Root-parallelized OLMCTS
  * @see OLMCTSTP Tree-parallelized OLMCTS
+ * @see OLMCTSHP Hybrid-parallelized OLMCTS
  */
 public interface OLMCTS {
     /**
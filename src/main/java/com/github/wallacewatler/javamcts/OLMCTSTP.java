@@ -1,11 +1,11 @@
 package com.github.wallacewatler.javamcts;
 
 import com.github.wallacewatler.javamcts.hidden.ActionSeqNode;
+import com.github.wallacewatler.javamcts.hidden.AmafRecorder;
 import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
 
 import java.util.*;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Open-loop MCTS with tree-parallelization. For details on how to use this class, see {@link OLMCTS}.
@@ -29,38 +29,20 @@ public final class OLMCTSTP implements OLMCTS, Cloneable {
             throw new IllegalArgumentException("rootState has no valid actions");
 
         // These are shared across threads
-        final long start = System.currentTimeMillis();
-        final ActionSeqNode rootNode = new ActionSeqNode(numPlayers);
-        final AtomicInteger iters = new AtomicInteger();
-        final Semaphore iterAllowance = new Semaphore(params.maxIters());
+        final ActionSeqNode rootNode = new ActionSeqNode(numPlayers, Procedures.usesVariance(params.selectionPolicy()));
         // -------------------------------
 
-        // Start parallel searches.
-        final Thread[] workers = new Thread[params.threadCount()];
-        for(int workerNum = 0; workerNum < workers.length; workerNum++) {
-            workers[workerNum] = new Thread(() -> {
-                long now = System.currentTimeMillis();
-                while(!Thread.interrupted() && now - start <= params.maxTime() && (now - start < params.minTime() || iterAllowance.tryAcquire())) {
-                    Procedures.iterOLMCTS(rootState, rootNode, params.uct(), rand);
-                    iters.getAndIncrement();
-                    now = System.currentTimeMillis();
-                }
-            }, "olmctstp" + workerNum);
-            workers[workerNum].start();
-        }
-
-        // Wait for all threads to finish
-        try {
-            for(Thread worker : workers)
-                worker.join();
-        } catch(InterruptedException ignored) {
-            for(Thread worker : workers)
-                worker.interrupt();
-        }
+        final TreeWorkers.Stats stats = TreeWorkers.run("olmctstp", params, 1, tree -> {
+            final double[] scoreBuffer = new double[numPlayers];
+            final AmafRecorder amaf = params.rave() == null ? null : new AmafRecorder(params.rave());
+            return () -> {
+                Procedures.iterOLMCTS(rootState, rootNode, params.selectionPolicy(), params.progressiveWidening(), rand, scoreBuffer, amaf);
+                return true;
+            };
+        });
 
         final ACTION bestAction = Procedures.mostVisited(rootNode, rootState.validActions(), rand);
-        final double itersPerThread = (double) iters.get() / params.threadCount();
-        return new SearchResults<>(bestAction, itersPerThread, System.currentTimeMillis() - start, rootNode.numNodes(), 0);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), rootNode.numNodes(), 0);
     }
 
     @Override
@@ -49,4 +49,44 @@ public interface ObservableAction<STATE> {
      * @return A move representing this action as observed from {@code observer}'s point of view.
      */
     Object observe(STATE context, int observer);
+
+    /**
+     * Optionally identify the move that {@code observer} sees this action as with a non-negative integer, in place of
+     * {@link #observe}. For a given observer, two actions must have the same ID if and only if {@link #observe} would
+     * return equal moves for them. Implementing this lets MO-ISMCTS descend through every player's tree without
+     * creating or hashing move objects, which matters most in games with many players. The default implementation
+     * returns -1, meaning that {@link #observe} is used instead.
+     *
+     * @param context the state that generated this action
+     * @param observer the player observing this action
+     *
+     * @return An ID of the move representing this action from {@code observer}'s point of view, or -1 to use
+     * {@link #observe} instead.
+     *
+     * @since 0.3.0
+     */
+    default int observeId(STATE context, int observer) {
+        return -1;
+    }
+
+    /**
+     * Check whether {@code observer} learns nothing from this action beyond the fact that it was done, i.e. whether
+     * every action the active player could have done in {@code context} would look the same to {@code observer}, such
+     * as when a card is played face down. MO-ISMCTS then doesn't give this action a node in {@code observer}'s tree,
+     * which saves memory and time in games where most actions are hidden from most players. This must only depend on
+     * what {@code observer} knows, and {@code observer} must be able to tell how many hidden actions have been done
+     * from the actions they did see, as when the turn order is public. The default implementation returns false.
+     * <p>
+     * This is never called with the player performing this action as the observer.
+     *
+     * @param context the state that generated this action
+     * @param observer the player observing this action
+     *
+     * @return True if this action is entirely hidden from {@code observer}.
+     *
+     * @since 0.3.0
+     */
+    default boolean isHiddenFrom(STATE context, int observer) {
+        return false;
+    }
 }
@@ -0,0 +1,31 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Predictor + UCT (PUCT), which weights the exploration of each action by its prior probability as given by
+ * {@link State#prior}. A branch's value is its average score plus {@code explorationParam * prior * sqrt(N) / (1 + n)},
+ * where <i>N</i> is the number of times the branch was available and <i>n</i> is the number of times it was selected.
+ * Branches that have never been explored are valued at their parent's average score.
+ * <p>
+ * PUCT is only worthwhile if your states override {@link State#prior} with something better than the uniform default,
+ * such as a heuristic or a trained policy.
+ *
+ * @param explorationParam Higher values prioritize following the priors, lower values prioritize exploiting branches
+ *                         with high scores.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public record PUCT(double explorationParam) implements SelectionPolicy {
+    public PUCT {
+        if(explorationParam < 0)
+            throw new IllegalArgumentException("explorationParam cannot be negative");
+    }
+
+    /**
+     * Convenience constructor for a PUCT with {@code explorationParam = 1.0}.
+     */
+    public PUCT() {
+        this(1.0);
+    }
+}
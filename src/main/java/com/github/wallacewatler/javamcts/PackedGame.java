@@ -0,0 +1,90 @@
+package com.github.wallacewatler.javamcts;
+
+import java.util.Random;
+
+/**
+ * The rules of a game whose states can be encoded in a small, fixed number of {@code long} words, such as a board game
+ * stored as bitboards. Unlike {@link VisibleState}, a {@code PackedGame} doesn't represent a state itself; it operates
+ * on states given as {@code long[]} arrays of length {@link #wordCount()}. Copying a state is a word copy, the words
+ * themselves serve as the transposition key, and simulations mutate a reused array in place, so a search over packed
+ * states does not allocate anything per simulation step.
+ * <p>
+ * States are fully visible to all players. Actions are integers from 0 to {@link #actionCount()} - 1 that do not involve
+ * any randomness. Two states are considered identical if and only if their words are equal, so every state must have a
+ * single encoding.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see PackedMCTS
+ */
+public interface PackedGame {
+    /**
+     * @return The number of words in each state. This must be the same for every state of a game.
+     */
+    int wordCount();
+
+    /**
+     * @return The number of distinct actions in the game. This must be the same for every state of a game.
+     */
+    int actionCount();
+
+    /**
+     * @param state a state of this game
+     *
+     * @return An integer representing the player who needs to do an action in {@code state}. Players are numbered from
+     * 0 to <i>n</i> - 1, where <i>n</i> is the number of players in the game.
+     */
+    int activePlayer(long[] state);
+
+    /**
+     * Write the valid actions for the active player into {@code out}, starting at index 0. The game has ended if and
+     * only if there are no valid actions.
+     *
+     * @param state a state of this game
+     * @param out an array of length at least {@link #actionCount()}
+     *
+     * @return The number of valid actions written.
+     */
+    int validActions(long[] state, int[] out);
+
+    /**
+     * Apply {@code action} to {@code state}, overwriting it with the resulting state.
+     *
+     * @param state a state of this game
+     * @param action a valid action for the active player
+     */
+    void applyAction(long[] state, int action);
+
+    /**
+     * @param state a state of this game
+     *
+     * @return True if {@code state} is terminal.
+     */
+    boolean isTerminal(long[] state);
+
+    /**
+     * Write the score that each player receives for a terminal state into {@code out}. This is only called on terminal
+     * states.
+     *
+     * @param state a terminal state of this game
+     * @param out an array with one element per player, to be overwritten with the scores
+     */
+    void scoresInto(long[] state, double[] out);
+
+    /**
+     * Choose one of the valid actions for the active player uniformly at random. This is only called on non-terminal
+     * states. The default implementation picks an element of {@link #validActions}; implementations can override it
+     * with something faster.
+     *
+     * @param state a non-terminal state of this game
+     * @param rand a source of randomness
+     * @param scratch an array of length at least {@link #actionCount()} that may be overwritten
+     *
+     * @return A random valid action.
+     */
+    default int randomAction(long[] state, Random rand, int[] scratch) {
+        return scratch[rand.nextInt(validActions(state, scratch))];
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.wallacewatler.javamcts;
+
+import java.util.Random;
+
+/**
+ * Closed loop MCTS over states packed into {@code long} words. This is the same algorithm as {@link MCTS}, but the game
+ * is described by a {@link PackedGame} and states are {@code long[]} arrays. Nodes store their children in arrays
+ * indexed by action, the transposition table is keyed by the state words directly, and simulations run on a reused
+ * array without allocating.
+ * <p>
+ * To use {@code PackedMCTS}, you'll need to implement {@link PackedGame}. You can then perform the search by calling
+ * {@link PackedMCTS#search} on one of the provided {@code PackedMCTS} implementations (see below).
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see PackedMCTSRP Root-parallelized PackedMCTS
+ * @see PackedMCTSTP Tree-parallelized PackedMCTS
+ * @see PackedMCTSHP Hybrid-parallelized PackedMCTS
+ */
+public interface PackedMCTS {
+    /**
+     * Perform MCTS from a given state. {@code rand} is only used for the algorithm itself, not for any game mechanics.
+     * {@code rand} can be seeded to reproduce single-threaded runs from a particular state.
+     *
+     * @param numPlayers the number of players in the game
+     * @param game the rules of the game
+     * @param rootState the state from which to begin the search; it is not modified
+     * @param params the search parameters
+     * @param rand a source of randomness
+     * @param useTable whether to use a transposition table during the search
+     *
+     * @return The search results. The best action is null if {@code rootState} has no valid actions.
+     *
+     * @throws IllegalArgumentException if {@code numPlayers} is less than 1, if the length of {@code rootState} is not
+     * {@code game.wordCount()}, or if {@code params} has a selection policy other than UCT, RAVE, or progressive widening
+     *
+     * @see SearchParameters
+     * @see SearchResults
+     */
+    SearchResults<Integer> search(int numPlayers, PackedGame game, long[] rootState, SearchParameters params, Random rand, boolean useTable);
+}
@@ -0,0 +1,86 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.PackedNode;
+import com.github.wallacewatler.javamcts.hidden.PackedTable;
+import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
+
+import java.util.*;
+
+/**
+ * Closed loop MCTS on packed states with root parallelization. For details on how to use this class, see
+ * {@link PackedMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class PackedMCTSRP implements PackedMCTS, Cloneable {
+    @Override
+    public SearchResults<Integer> search(int numPlayers, PackedGame game, long[] rootState, SearchParameters params, Random rand, boolean useTable) {
+        if(numPlayers < 1)
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+
+        if(rootState.length != game.wordCount())
+            throw new IllegalArgumentException("rootState must have " + game.wordCount() + " words");
+
+        final UCT uct = Procedures.requireUct(params, "PackedMCTS-RP");
+
+        // One search tree and transposition table for each thread
+        final ArrayList<PackedNode> rootNodes = new ArrayList<>(params.threadCount());
+        final ArrayList<PackedTable> tables = new ArrayList<>(params.threadCount());
+        for(int i = 0; i < params.threadCount(); i++) {
+            rootNodes.add(new PackedNode(numPlayers, game, rootState.clone()));
+            tables.add(useTable ? new PackedTable() : null);
+        }
+
+        if(rootNodes.get(0).numBranches() == 0)
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("packedmctsrp", params, params.threadCount(), tree -> {
+            final PackedNode rootNode = rootNodes.get(tree);
+            final PackedTable table = tables.get(tree);
+            final double[] scoreBuffer = new double[numPlayers];
+            final int[] actionBuffer = new int[game.actionCount()];
+            final long[] stateBuffer = new long[game.wordCount()];
+            return () -> {
+                Procedures.iterPackedMCTS(rootNode, game, uct, rand, table, scoreBuffer, actionBuffer, stateBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action by majority voting.
+        final ArrayList<Integer> votes = new ArrayList<>(rootNodes.size());
+        int numNodes = 0;
+        int numStates = 0;
+        for(int i = 0; i < rootNodes.size(); i++) {
+            final PackedNode root = rootNodes.get(i);
+            votes.add(Procedures.mostVisited(root, rand));
+            numNodes += root.numNodes();
+            numStates += tables.get(i) == null ? 0 : tables.get(i).size();
+        }
+        final Integer bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, numStates);
+    }
+
+    @Override
+    public String toString() {
+        return "PackedMCTS-RP";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.PackedNode;
+import com.github.wallacewatler.javamcts.hidden.PackedTable;
+import com.github.wallacewatler.javamcts.hidden.Procedures;
+import com.github.wallacewatler.javamcts.hidden.TreeWorkers;
+
+import java.util.Random;
+
+/**
+ * Closed loop MCTS on packed states with tree parallelization. For details on how to use this class, see
+ * {@link PackedMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class PackedMCTSTP implements PackedMCTS, Cloneable {
+    @Override
+    public SearchResults<Integer> search(int numPlayers, PackedGame game, long[] rootState, SearchParameters params, Random rand, boolean useTable) {
+        if(numPlayers < 1)
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+
+        if(rootState.length != game.wordCount())
+            throw new IllegalArgumentException("rootState must have " + game.wordCount() + " words");
+
+        final UCT uct = Procedures.requireUct(params, "PackedMCTS-TP");
+
+        // These are shared across threads
+        final PackedNode rootNode = new PackedNode(numPlayers, game, rootState.clone());
+        final PackedTable table = useTable ? new PackedTable() : null;
+        // -------------------------------
+
+        if(rootNode.numBranches() == 0)
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("packedmctstp", params, 1, tree -> {
+            final double[] scoreBuffer = new double[numPlayers];
+            final int[] actionBuffer = new int[game.actionCount()];
+            final long[] stateBuffer = new long[game.wordCount()];
+            return () -> {
+                Procedures.iterPackedMCTS(rootNode, game, uct, rand, table, scoreBuffer, actionBuffer, stateBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action.
+        final int bestAction = Procedures.mostVisited(rootNode, rand);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), rootNode.numNodes(), table == null ? 0 : table.size());
+    }
+
+    @Override
+    public String toString() {
+        return "PackedMCTS-TP";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
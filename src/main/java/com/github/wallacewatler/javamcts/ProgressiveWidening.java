@@ -0,0 +1,46 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Progressive widening, which limits how many actions are eligible for selection from a node based on how many times
+ * the node has been visited. A node visited <i>n</i> times only considers the first ceil({@code coefficient} *
+ * <i>n</i><sup>{@code exponent}</sup>) of its valid actions, and always at least one. This keeps the size of the tree
+ * and the cost of selection bounded in games with hundreds or thousands of actions per state.
+ * <p>
+ * Actions become eligible in the order that {@link State#validActions()} returns them, so states should list the most
+ * promising actions first, e.g. by sorting them with a cheap heuristic.
+ *
+ * @param coefficient How many actions are eligible after the first visit. Higher values widen faster.
+ * @param exponent How quickly nodes widen as they are visited more, from 0.0 to 1.0. Values around 0.25 to 0.5 are
+ *                 typical.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see SearchParameters#withProgressiveWidening(ProgressiveWidening)
+ */
+public record ProgressiveWidening(double coefficient, double exponent) {
+    public ProgressiveWidening {
+        if(!(coefficient > 0))
+            throw new IllegalArgumentException("coefficient must be positive");
+
+        if(!(exponent >= 0 && exponent <= 1))
+            throw new IllegalArgumentException("exponent must be between 0 and 1");
+    }
+
+    /**
+     * Convenience constructor for progressive widening with {@code coefficient = 1.0} and {@code exponent = 0.5}.
+     */
+    public ProgressiveWidening() {
+        this(1.0, 0.5);
+    }
+
+    /**
+     * @param visits the number of times a node has been visited
+     *
+     * @return The number of actions eligible for selection from the node.
+     */
+    public int eligibleCount(int visits) {
+        return Math.max(1, (int) Math.ceil(coefficient * Math.pow(visits, exponent)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Rapid action value estimation (RAVE). With RAVE, each node also records all-moves-as-first (AMAF) statistics: every
+ * action that its active player does later in an iteration, whether in the tree or during simulation, is credited with
+ * that iteration's result as if it had been done first. These statistics build up much faster than the ordinary ones,
+ * and selection blends the two, trusting the AMAF statistics early on and the ordinary statistics as visits accumulate.
+ * This helps most in games with high branching factors, where the same action is often good regardless of when it's
+ * done.
+ * <p>
+ * The weight given to the AMAF statistics of a child visited <i>n</i> times is sqrt(<i>k</i> / (3<i>n</i> + <i>k</i>)),
+ * where <i>k</i> is the {@code equivalence} parameter; the two statistics are weighted equally when <i>n</i> =
+ * <i>k</i> / 3. RAVE is only used when the selection policy is {@link UCT}.
+ *
+ * @param equivalence The number of visits at which the AMAF statistics are weighted about as much as the ordinary ones.
+ *                    Higher values trust the AMAF statistics for longer.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see SearchParameters#withRave(RAVE)
+ */
+public record RAVE(double equivalence) {
+    public RAVE {
+        if(!(equivalence > 0))
+            throw new IllegalArgumentException("equivalence must be positive");
+    }
+
+    /**
+     * Convenience constructor for a RAVE with the commonly used {@code equivalence = 1000}.
+     */
+    public RAVE() {
+        this(1000);
+    }
+
+    /**
+     * @param visits the number of times a child has been visited
+     *
+     * @return The weight given to the AMAF statistics of the child, between 0.0 and 1.0.
+     */
+    public double beta(int visits) {
+        return Math.sqrt(equivalence / (3.0 * visits + equivalence));
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.wallacewatler.javamcts;
+
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Single-player MCTS, for puzzles and optimization problems rather than games. The state and actions are the same as in
+ * {@link MCTS}, but there is only one player, and the goal is to find the terminal state with the highest score rather
+ * than the action with the best expected outcome. To that end:
+ * <ul>
+ *     <li>each node keeps the highest score seen below it, and UCT exploits that maximum rather than the mean;</li>
+ *     <li>the best sequence of actions found, including the actions taken during simulation, is kept and returned;
+ *     and</li>
+ *     <li>if an upper bound on the score reachable from a state is given, branches that cannot beat the best score so
+ *     far are pruned, and the search stops early once every branch from the root is pruned.</li>
+ * </ul>
+ * <p>
+ * To use {@code SPMCTS}, you'll need to implement {@link VisibleState} and {@link DeterministicAction}, with
+ * {@link VisibleState#scores()} returning a single score. You can then perform the search by calling
+ * {@link SPMCTS#search} on one of the provided {@code SPMCTS} implementations (see below).
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see SPMCTSRP Root-parallelized SP-MCTS
+ * @see SPMCTSTP Tree-parallelized SP-MCTS
+ * @see SPMCTSHP Hybrid-parallelized SP-MCTS
+ */
+public interface SPMCTS {
+    /**
+     * Perform single-player MCTS from a given state. {@code rand} is only used for the algorithm itself, not for any
+     * game mechanics. {@code rand} can be seeded to reproduce single-threaded runs from a particular state.
+     * <p>
+     * If {@code scoreBound} is not null, it is called on every state visited during the search, including during
+     * simulation, and must return a number no less than the score of any terminal state reachable from it. A branch is
+     * pruned once its bound is no greater than the best score found so far, and a simulation is cut short as soon as it
+     * reaches such a state. The tighter the bound, the more is pruned; a bound that can be lower than a reachable score
+     * may cause the best solution to be missed.
+     * <p>
+     * If a transposition table is used, the {@code STATE} type should have {@link Object#equals} and
+     * {@link Object#hashCode} defined as its objects will be used as keys in a {@link java.util.HashMap HashMap}.
+     *
+     * @param rootState the state from which to begin the search
+     * @param params the search parameters
+     * @param rand a source of randomness
+     * @param useTable whether to use a transposition table during the search
+     * @param scoreBound an upper bound on the score reachable from a state, or null to disable pruning
+     *
+     * @return The search results.
+     *
+     * @throws IllegalArgumentException if {@code params} has a selection policy other than UCT, RAVE, or progressive
+     * widening
+     *
+     * @param <STATE> the type of state this MCTS operates on
+     * @param <ACTION> the type of action this MCTS operates on
+     *
+     * @see SearchParameters
+     * @see SPSearchResults
+     */
+    <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SPSearchResults<ACTION> search(STATE rootState, SearchParameters params, Random rand, boolean useTable, ToDoubleFunction<? super STATE> scoreBound);
+
+    /**
+     * Perform single-player MCTS from a given state without pruning. This is equivalent to calling
+     * {@link #search(VisibleState, SearchParameters, Random, boolean, ToDoubleFunction)} with a null score bound.
+     *
+     * @param rootState the state from which to begin the search
+     * @param params the search parameters
+     * @param rand a source of randomness
+     * @param useTable whether to use a transposition table during the search
+     *
+     * @return The search results.
+     *
+     * @throws IllegalArgumentException if {@code params} has a selection policy other than UCT, RAVE, or progressive
+     * widening
+     *
+     * @param <STATE> the type of state this MCTS operates on
+     * @param <ACTION> the type of action this MCTS operates on
+     */
+    default <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SPSearchResults<ACTION> search(STATE rootState, SearchParameters params, Random rand, boolean useTable) {
+        return search(rootState, params, rand, useTable, null);
+    }
+}
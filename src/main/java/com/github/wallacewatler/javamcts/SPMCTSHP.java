@@ -0,0 +1,107 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Single-player MCTS with hybrid parallelization. The threads are split into groups, each searching its own tree, and
+ * the best sequence found so far is shared between all of them. For details on how to use this class, see
+ * {@link SPMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see MCTSHP
+ */
+public final class SPMCTSHP implements SPMCTS, Cloneable {
+    private final int treeCount;
+
+    /**
+     * @param treeCount the number of trees to search; if this exceeds the thread count, one tree is searched per
+     *                  thread
+     *
+     * @throws IllegalArgumentException if {@code treeCount} is less than 1
+     */
+    public SPMCTSHP(int treeCount) {
+        if(treeCount < 1)
+            throw new IllegalArgumentException("tree count must be at least 1");
+
+        this.treeCount = treeCount;
+    }
+
+    /**
+     * @return The number of trees to search.
+     */
+    public int treeCount() {
+        return treeCount;
+    }
+
+    @Override
+    public
+    <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SPSearchResults<ACTION> search(STATE rootState, SearchParameters params, Random rand, boolean useTable, ToDoubleFunction<? super STATE> scoreBound) {
+        final UCT uct = Procedures.requireUct(params, "SP-MCTS-HP");
+
+        if(rootState.validActions().isEmpty())
+            return new SPSearchResults<>(List.of(), Double.NEGATIVE_INFINITY, 0, 0, 1, 1);
+
+        final int numTrees = Math.min(treeCount, params.threadCount());
+
+        // These are shared across threads
+        final BestSequence<ACTION> best = new BestSequence<>();
+        // -------------------------------
+
+        // One search tree and transposition table for each group of threads
+        final ArrayList<SPNode<STATE, ACTION>> rootNodes = new ArrayList<>(numTrees);
+        final ArrayList<ConcurrentHashMap<STATE, SPNode<STATE, ACTION>>> tables = new ArrayList<>(numTrees);
+        for(int i = 0; i < numTrees; i++) {
+            rootNodes.add(new SPNode<>(rootState, scoreBound, new double[1]));
+            tables.add(useTable ? new ConcurrentHashMap<>() : null);
+        }
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("spmctshp", params, numTrees, tree -> {
+            final SPNode<STATE, ACTION> rootNode = rootNodes.get(tree);
+            final ConcurrentHashMap<STATE, SPNode<STATE, ACTION>> table = tables.get(tree);
+            final double[] scoreBuffer = new double[1];
+            final ArrayList<ACTION> trajectory = new ArrayList<>();
+            // Stop early once every branch from the root has been pruned or fully searched.
+            return () -> Procedures.iterSPMCTS(rootNode, uct, rand, table, scoreBound, best, scoreBuffer, trajectory);
+        });
+
+        // Recommend the best sequence found by any tree.
+        int numNodes = 0;
+        int numStates = 0;
+        for(int i = 0; i < rootNodes.size(); i++) {
+            numNodes += rootNodes.get(i).numNodes();
+            numStates += tables.get(i) == null ? 0 : tables.get(i).size();
+        }
+
+        return new SPSearchResults<>(best.actions(), best.score(), stats.itersPerThread(), stats.elapsedMillis(), numNodes, numStates);
+    }
+
+    @Override
+    public String toString() {
+        return "SP-MCTS-HP(" + treeCount + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        return treeCount == ((SPMCTSHP) o).treeCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return treeCount;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.*;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Single-player MCTS with root parallelization. The trees are searched independently, but the best sequence found so
+ * far is shared between them for pruning. For details on how to use this class, see {@link SPMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class SPMCTSRP implements SPMCTS, Cloneable {
+    @Override
+    public
+    <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SPSearchResults<ACTION> search(STATE rootState, SearchParameters params, Random rand, boolean useTable, ToDoubleFunction<? super STATE> scoreBound) {
+        final UCT uct = Procedures.requireUct(params, "SP-MCTS-RP");
+
+        if(rootState.validActions().isEmpty())
+            return new SPSearchResults<>(List.of(), Double.NEGATIVE_INFINITY, 0, 0, 1, 1);
+
+        // These are shared across threads
+        final BestSequence<ACTION> best = new BestSequence<>();
+        // -------------------------------
+
+        // One search tree and transposition table for each thread
+        final ArrayList<SPNode<STATE, ACTION>> rootNodes = new ArrayList<>(params.threadCount());
+        final ArrayList<HashMap<STATE, SPNode<STATE, ACTION>>> tables = new ArrayList<>(params.threadCount());
+        for(int i = 0; i < params.threadCount(); i++) {
+            rootNodes.add(new SPNode<>(rootState, scoreBound, new double[1]));
+            tables.add(useTable ? new HashMap<>() : null);
+        }
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("spmctsrp", params, params.threadCount(), tree -> {
+            final SPNode<STATE, ACTION> rootNode = rootNodes.get(tree);
+            final HashMap<STATE, SPNode<STATE, ACTION>> table = tables.get(tree);
+            final double[] scoreBuffer = new double[1];
+            final ArrayList<ACTION> trajectory = new ArrayList<>();
+            // Stop early once every branch from the root has been pruned or fully searched.
+            return () -> Procedures.iterSPMCTS(rootNode, uct, rand, table, scoreBound, best, scoreBuffer, trajectory);
+        });
+
+        // Recommend the best sequence found by any tree.
+        int numNodes = 0;
+        int numStates = 0;
+        for(int i = 0; i < rootNodes.size(); i++) {
+            numNodes += rootNodes.get(i).numNodes();
+            numStates += tables.get(i) == null ? 0 : tables.get(i).size();
+        }
+
+        return new SPSearchResults<>(best.actions(), best.score(), stats.itersPerThread(), stats.elapsedMillis(), numNodes, numStates);
+    }
+
+    @Override
+    public String toString() {
+        return "SP-MCTS-RP";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
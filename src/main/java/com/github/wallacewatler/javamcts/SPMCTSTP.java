@@ -0,0 +1,63 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Single-player MCTS with tree parallelization. For details on how to use this class, see {@link SPMCTS}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class SPMCTSTP implements SPMCTS, Cloneable {
+    @Override
+    public
+    <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SPSearchResults<ACTION> search(STATE rootState, SearchParameters params, Random rand, boolean useTable, ToDoubleFunction<? super STATE> scoreBound) {
+        final UCT uct = Procedures.requireUct(params, "SP-MCTS-TP");
+
+        // These are shared across threads
+        final SPNode<STATE, ACTION> rootNode = new SPNode<>(rootState, scoreBound, new double[1]);
+        final ConcurrentHashMap<STATE, SPNode<STATE, ACTION>> table = useTable ? new ConcurrentHashMap<>() : null;
+        final BestSequence<ACTION> best = new BestSequence<>();
+        // -------------------------------
+
+        if(rootNode.validActions().isEmpty())
+            return new SPSearchResults<>(List.of(), Double.NEGATIVE_INFINITY, 0, 0, 1, 1);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("spmctstp", params, 1, tree -> {
+            final double[] scoreBuffer = new double[1];
+            final ArrayList<ACTION> trajectory = new ArrayList<>();
+            // Stop early once every branch from the root has been pruned or fully searched.
+            return () -> Procedures.iterSPMCTS(rootNode, uct, rand, table, scoreBound, best, scoreBuffer, trajectory);
+        });
+
+        // Recommend the best sequence found.
+        return new SPSearchResults<>(best.actions(), best.score(), stats.itersPerThread(), stats.elapsedMillis(), rootNode.numNodes(), table == null ? 0 : table.size());
+    }
+
+    @Override
+    public String toString() {
+        return "SP-MCTS-TP";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
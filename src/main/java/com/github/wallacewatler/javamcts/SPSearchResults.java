@@ -0,0 +1,36 @@
+package com.github.wallacewatler.javamcts;
+
+import java.util.List;
+
+/**
+ * Collates the results of a single-player tree search.
+ *
+ * @param bestSequence The sequence of actions leading from the root state to the best terminal state found. This is
+ *                     empty if the root state is terminal or no iterations were done.
+ * @param bestScore The score of the best terminal state found, or {@code Double.NEGATIVE_INFINITY} if none was found.
+ * @param itersPerThread The average number of iterations performed per thread.
+ * @param duration The time taken to complete the search, in milliseconds.
+ * @param numNodes The number of nodes searched.
+ * @param numStates The number of unique states encountered. If a transposition table is not used, this will be 0.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @param <ACTION> the type of actions in {@code bestSequence}
+ */
+public record SPSearchResults<ACTION>(
+        List<ACTION> bestSequence,
+        double bestScore,
+        double itersPerThread,
+        long duration,
+        int numNodes,
+        int numStates
+) {
+    /**
+     * @return The first action of {@link #bestSequence}, or null if it is empty.
+     */
+    public ACTION bestAction() {
+        return bestSequence.isEmpty() ? null : bestSequence.get(0);
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Determines which search a {@link SearchScheduler} gives a free core to when several are waiting for one.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see SearchScheduler
+ */
+public enum SchedulingPolicy {
+    /**
+     * The search whose maximum time runs out first goes first, and a worker gives up its core as soon as a search with
+     * an earlier deadline is waiting. Under load, the most urgent searches still get their full time, at the expense
+     * of searches with later deadlines.
+     */
+    EARLIEST_DEADLINE_FIRST,
+
+    /**
+     * The search that has had the least time on a core so far goes next, once the running worker's time slice is
+     * over. Under load, every search gets a similar share of the cores.
+     */
+    FAIR_SHARE
+}
@@ -1,5 +1,7 @@
 package com.github.wallacewatler.javamcts;
 
+import java.util.Objects;
+
 /**
  * {@code SearchParameters} defines limitations on the duration and iteration count of a tree search: the minimum search
  * time, the maximum search time, and the maximum number of iterations. Search will continue until at least the minimum
@@ -7,6 +9,14 @@ package com.github.wallacewatler.javamcts;
  * the maximum time has passed or the maximum number of iterations has been reached. The actual time spent searching may
  * be larger than the defined maximum time, depending on how long the currently running iterations take to complete.
  * <p>
+ * How these limits are applied is controlled by {@code iterationScope} and {@code timeMode}. By default, the iteration
+ * limit applies to each search tree and time is measured by the wall clock.
+ * <p>
+ * Branches are selected by {@code selectionPolicy}, which is {@code uct} by default. Selection can optionally be
+ * guided by {@code rave} and limited by {@code progressiveWidening}, both of which are off by default. Searches on
+ * information sets can reuse determinizations according to {@code determinizationReuse}, which is also off by default.
+ * A search can be stopped early from another thread through {@code cancellation}.
+ * <p>
  * {@code SearchParameters} also defines the number of threads to use for parallelized search. There is no guarantee
  * that more threads will result in more efficient searches.
  *
@@ -15,14 +25,49 @@ package com.github.wallacewatler.javamcts;
  * @param maxIters The maximum number of iterations.
  * @param uct The UCT policy.
  * @param threadCount The number of threads to use for the search.
+ * @param iterationScope What {@code maxIters} applies to.
+ * @param timeMode How {@code minTime} and {@code maxTime} are measured.
+ * @param rave The RAVE parameters, or null to not use RAVE. RAVE applies to closed loop MCTS, open loop MCTS, and
+ *             ISMCTS when {@code selectionPolicy} is a {@link UCT}, and MO-ISMCTS ignores it. The other algorithms
+ *             throw an {@link IllegalArgumentException} if this is set.
+ * @param selectionPolicy The policy used to select branches, or null to use {@code uct}. This applies to closed loop
+ *                        MCTS, open loop MCTS, ISMCTS, and MO-ISMCTS. The other algorithms throw an
+ *                        {@link IllegalArgumentException} unless it is a {@link UCT}.
+ * @param progressiveWidening The progressive widening parameters, or null to consider every valid action at every
+ *                            node. This applies to closed loop MCTS, open loop MCTS, ISMCTS, and MO-ISMCTS. The other
+ *                            algorithms throw an {@link IllegalArgumentException} if this is set.
+ * @param determinizationReuse How determinizations are reused, or null to generate a new one for every iteration. This
+ *                             applies to ISMCTS and MO-ISMCTS.
+ * @param cancellation A token that stops the search early once cancelled, or null if the search can only be stopped
+ *                     by its limits or by interrupting the calling thread.
  *
  * @since 0.1.0
  *
  * @author Wallace Watler
  *
  * @see UCT
+ * @see IterationScope
+ * @see TimeMode
+ * @see RAVE
+ * @see SelectionPolicy
+ * @see ProgressiveWidening
+ * @see DeterminizationReuse
+ * @see CancellationToken
  */
-public record SearchParameters(long minTime, long maxTime, int maxIters, UCT uct, int threadCount) {
+public record SearchParameters(
+        long minTime,
+        long maxTime,
+        int maxIters,
+        UCT uct,
+        int threadCount,
+        IterationScope iterationScope,
+        TimeMode timeMode,
+        RAVE rave,
+        SelectionPolicy selectionPolicy,
+        ProgressiveWidening progressiveWidening,
+        DeterminizationReuse determinizationReuse,
+        CancellationToken cancellation
+) {
     public SearchParameters {
         if(minTime < 0)
             throw new IllegalArgumentException("time cannot be negative");
@@ -35,5 +80,97 @@ public record SearchParameters(long minTime, long maxTime, int maxIters, UCT uct
 
         if(threadCount < 1)
             throw new IllegalArgumentException("thread count must be at least 1");
+
+        Objects.requireNonNull(iterationScope, "iterationScope");
+        Objects.requireNonNull(timeMode, "timeMode");
+
+        if(selectionPolicy == null)
+            selectionPolicy = uct;
+    }
+
+    /**
+     * Convenience constructor that applies {@code maxIters} to each search tree, measures time by the wall clock, selects
+     * branches with {@code uct}, doesn't use RAVE or progressive widening, doesn't reuse determinizations, and can't be
+     * cancelled.
+     */
+    public SearchParameters(long minTime, long maxTime, int maxIters, UCT uct, int threadCount) {
+        this(minTime, maxTime, maxIters, uct, threadCount, IterationScope.PER_TREE, TimeMode.WALL_CLOCK, null, null, null, null, null);
+    }
+
+    /**
+     * @param iterationScope what {@code maxIters} applies to
+     *
+     * @return A copy of these parameters with the given iteration scope.
+     *
+     * @since 0.3.0
+     */
+    public SearchParameters withIterationScope(IterationScope iterationScope) {
+        return new SearchParameters(minTime, maxTime, maxIters, uct, threadCount, iterationScope, timeMode, rave, selectionPolicy, progressiveWidening, determinizationReuse, cancellation);
+    }
+
+    /**
+     * @param timeMode how {@code minTime} and {@code maxTime} are measured
+     *
+     * @return A copy of these parameters with the given time mode.
+     *
+     * @since 0.3.0
+     */
+    public SearchParameters withTimeMode(TimeMode timeMode) {
+        return new SearchParameters(minTime, maxTime, maxIters, uct, threadCount, iterationScope, timeMode, rave, selectionPolicy, progressiveWidening, determinizationReuse, cancellation);
+    }
+
+    /**
+     * @param rave the RAVE parameters, or null to not use RAVE
+     *
+     * @return A copy of these parameters with the given RAVE parameters.
+     *
+     * @since 0.3.0
+     */
+    public SearchParameters withRave(RAVE rave) {
+        return new SearchParameters(minTime, maxTime, maxIters, uct, threadCount, iterationScope, timeMode, rave, selectionPolicy, progressiveWidening, determinizationReuse, cancellation);
+    }
+
+    /**
+     * @param selectionPolicy the policy used to select branches, or null to use {@link #uct()}
+     *
+     * @return A copy of these parameters with the given selection policy.
+     *
+     * @since 0.3.0
+     */
+    public SearchParameters withSelectionPolicy(SelectionPolicy selectionPolicy) {
+        return new SearchParameters(minTime, maxTime, maxIters, uct, threadCount, iterationScope, timeMode, rave, selectionPolicy, progressiveWidening, determinizationReuse, cancellation);
+    }
+
+    /**
+     * @param progressiveWidening the progressive widening parameters, or null to consider every valid action
+     *
+     * @return A copy of these parameters with the given progressive widening parameters.
+     *
+     * @since 0.3.0
+     */
+    public SearchParameters withProgressiveWidening(ProgressiveWidening progressiveWidening) {
+        return new SearchParameters(minTime, maxTime, maxIters, uct, threadCount, iterationScope, timeMode, rave, selectionPolicy, progressiveWidening, determinizationReuse, cancellation);
+    }
+
+    /**
+     * @param determinizationReuse how determinizations are reused, or null to generate a new one for every iteration
+     *
+     * @return A copy of these parameters with the given determinization reuse settings.
+     *
+     * @since 0.3.0
+     */
+    public SearchParameters withDeterminizationReuse(DeterminizationReuse determinizationReuse) {
+        return new SearchParameters(minTime, maxTime, maxIters, uct, threadCount, iterationScope, timeMode, rave, selectionPolicy, progressiveWidening, determinizationReuse, cancellation);
+    }
+
+    /**
+     * @param cancellation a token that stops the search early once cancelled, or null to not use one
+     *
+     * @return A copy of these parameters with the given cancellation token.
+     *
+     * @since 0.3.0
+     */
+    public SearchParameters withCancellation(CancellationToken cancellation) {
+        return new SearchParameters(minTime, maxTime, maxIters, uct, threadCount, iterationScope, timeMode, rave, selectionPolicy, progressiveWidening, determinizationReuse, cancellation);
     }
 }
@@ -0,0 +1,77 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.CoreGate;
+
+import java.util.function.Supplier;
+
+/**
+ * Shares a fixed number of cores between many searches that run at the same time, such as the searches of many games
+ * hosted in one JVM. Without a scheduler, every search's threads compete for the CPU on their own, and under load all
+ * of them fall short of their time limits together. Searches run through a scheduler still have threads of their own,
+ * but only as many workers as there are cores search at once; the rest wait for a core. Running workers give up their
+ * core between iterations when their time slice is over or, depending on the {@link SchedulingPolicy}, when a more
+ * urgent search is waiting.
+ * <p>
+ * A search's deadline is its start time plus {@link SearchParameters#maxTime()}, measured by the wall clock.
+ *
+ * <pre>{@code
+ * SearchScheduler scheduler = new SearchScheduler(8, SchedulingPolicy.EARLIEST_DEADLINE_FIRST);
+ *
+ * // On each game's own thread:
+ * SearchResults<MyAction> results = scheduler.run(() -> new MCTSTP().search(2, state, params, rand, true));
+ * }</pre>
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see SchedulingPolicy
+ */
+public final class SearchScheduler {
+    private final CoreGate gate;
+
+    /**
+     * @param cores the number of workers that may search at once
+     * @param policy how to choose between searches waiting for a core
+     *
+     * @throws IllegalArgumentException if {@code cores} is less than 1
+     * @throws NullPointerException if {@code policy} is null
+     */
+    public SearchScheduler(int cores, SchedulingPolicy policy) {
+        if(cores < 1)
+            throw new IllegalArgumentException("cores must be at least 1");
+
+        gate = new CoreGate(cores, policy == SchedulingPolicy.EARLIEST_DEADLINE_FIRST);
+    }
+
+    /**
+     * Call {@code search} on this thread, scheduling the workers of every search it starts with this scheduler.
+     *
+     * @param search performs a search, e.g. by calling {@link MCTS#search}
+     *
+     * @return The result of {@code search}.
+     *
+     * @param <RESULT> the type of search results
+     */
+    public <RESULT> RESULT run(Supplier<RESULT> search) {
+        final CoreGate previous = CoreGate.current();
+        CoreGate.setCurrent(gate);
+        try {
+            return search.get();
+        } finally {
+            CoreGate.setCurrent(previous);
+        }
+    }
+
+    /**
+     * @return The number of workers that may search at once.
+     */
+    public int cores() {
+        return gate.cores();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchScheduler(" + gate.cores() + ", " + (gate.earliestDeadlineFirst() ? SchedulingPolicy.EARLIEST_DEADLINE_FIRST : SchedulingPolicy.FAIR_SHARE) + ")";
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * A policy for deciding which branch to follow from a node during the selection phase of a tree search. Each policy
+ * has its own selection loop in the search, so choosing a policy doesn't add any per-branch overhead.
+ * <p>
+ * Closed loop MCTS, open loop MCTS, ISMCTS, and MO-ISMCTS use the policy given by
+ * {@link SearchParameters#selectionPolicy()}. The other algorithms only support {@link UCT} and throw an
+ * {@link IllegalArgumentException} for any other policy.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see UCT
+ * @see UCB1Tuned
+ * @see PUCT
+ * @see ThompsonSampling
+ * @see EpsilonGreedy
+ */
+public sealed interface SelectionPolicy permits UCT, UCB1Tuned, PUCT, ThompsonSampling, EpsilonGreedy {
+}
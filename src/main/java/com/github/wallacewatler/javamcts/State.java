@@ -1,6 +1,7 @@
 package com.github.wallacewatler.javamcts;
 
 import java.util.List;
+import java.util.Random;
 
 /**
  * A {@code State} represents a game at a certain point in time. It stores all persistent data, defines the actions
@@ -35,4 +36,65 @@ public interface State<ACTION> {
      * terminal.
      */
     double[] scores();
+
+    /**
+     * Searches check this on every step of every simulation. The default implementation checks whether
+     * {@link #scores()} is {@code null}; implementations can override it with a cheaper test that doesn't allocate.
+     *
+     * @return True if this state is terminal.
+     *
+     * @since 0.3.0
+     */
+    default boolean isTerminal() {
+        return scores() != null;
+    }
+
+    /**
+     * Write the score that each player receives for this terminal state into {@code out}. This is only called on
+     * terminal states. The default implementation copies the result of {@link #scores()}; implementations can override
+     * it to avoid allocating an array.
+     *
+     * @param out an array with one element per player, to be overwritten with the scores
+     *
+     * @since 0.3.0
+     */
+    default void scoresInto(double[] out) {
+        System.arraycopy(scores(), 0, out, 0, out.length);
+    }
+
+    /**
+     * Choose one of the valid actions for the active player uniformly at random. Searches use this to simulate games
+     * to completion, so it is called many times per iteration. The default implementation picks an element of
+     * {@link #validActions()}; implementations can override it to avoid building a list.
+     *
+     * @param rand a source of randomness
+     *
+     * @return A random valid action. This is only called on non-terminal states.
+     *
+     * @since 0.3.0
+     */
+    default ACTION randomAction(Random rand) {
+        final List<ACTION> validActions = validActions();
+        return validActions.get(rand.nextInt(validActions.size()));
+    }
+
+    /**
+     * The prior probability that the active player does {@code action}, as used by {@link PUCT}. The priors of all valid
+     * actions should sum to 1. PUCT calls this once for each action it considers in every selection, so it should be
+     * cheap.
+     * <p>
+     * The default implementation returns the same prior for every action. It builds the list of valid actions on every
+     * call, which makes a selection cost quadratic in the number of actions, so the searches don't call it: if this
+     * isn't overridden, PUCT computes the uniform prior once per selection instead. With progressive widening, that
+     * uniform prior is spread over the actions being considered rather than all valid actions.
+     *
+     * @param action a valid action for the active player
+     *
+     * @return The prior probability of {@code action}.
+     *
+     * @since 0.3.0
+     */
+    default double prior(ACTION action) {
+        return 1.0 / validActions().size();
+    }
 }
@@ -0,0 +1,29 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Thompson sampling, which selects the branch whose sampled value is highest. Each branch's value is drawn from a
+ * normal distribution centered on its average score, with a variance that shrinks as the branch is visited more.
+ * Branches that have never been explored take priority over any other.
+ *
+ * @param priorVariance The variance assumed for a branch's scores before it has been visited, which is added to its
+ *                      observed variance. Higher values explore more. {@code 0.25} suits scores in the range
+ *                      [0.0, 1.0].
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public record ThompsonSampling(double priorVariance) implements SelectionPolicy {
+    public ThompsonSampling {
+        if(!(priorVariance > 0))
+            throw new IllegalArgumentException("priorVariance must be positive");
+    }
+
+    /**
+     * Convenience constructor for Thompson sampling with {@code priorVariance = 0.25}, suitable for scores in the range
+     * [0.0, 1.0].
+     */
+    public ThompsonSampling() {
+        this(0.25);
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * Determines how the time limits in {@link SearchParameters} are measured.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ *
+ * @see SearchParameters
+ */
+public enum TimeMode {
+    /** Time limits are measured in elapsed real time from the start of the search. */
+    WALL_CLOCK,
+
+    /**
+     * Time limits are measured in CPU time used by each thread since it started searching. Unlike wall-clock time,
+     * this is not affected by other processes competing for the CPU, so a search gets the same amount of computation
+     * regardless of load. Note that the search as a whole may take longer than the maximum time to complete. Requires
+     * the JVM to support measuring thread CPU time and to have it enabled, which it is by default; searching otherwise
+     * throws an {@link UnsupportedOperationException}. The search never enables it, since that would change a setting
+     * for the whole JVM.
+     *
+     * @see java.lang.management.ThreadMXBean#getCurrentThreadCpuTime()
+     */
+    THREAD_CPU
+}
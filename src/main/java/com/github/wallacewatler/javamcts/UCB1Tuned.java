@@ -0,0 +1,28 @@
+package com.github.wallacewatler.javamcts;
+
+/**
+ * UCB1-Tuned, a variant of {@link UCT} that scales each branch's exploration term by an upper bound on the variance of
+ * its scores. Branches whose scores are consistent are explored less, which often converges faster than UCT and has no
+ * exploration parameter to tune. Branches that have never been explored take priority over any other.
+ *
+ * @param maxVariance The largest possible variance of a score. This is {@code 0.25} if scores are in the range
+ *                    [0.0, 1.0].
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public record UCB1Tuned(double maxVariance) implements SelectionPolicy {
+    public UCB1Tuned {
+        if(!(maxVariance > 0))
+            throw new IllegalArgumentException("maxVariance must be positive");
+    }
+
+    /**
+     * Convenience constructor for a UCB1-Tuned with {@code maxVariance = 0.25}, suitable for scores in the range
+     * [0.0, 1.0].
+     */
+    public UCB1Tuned() {
+        this(0.25);
+    }
+}
@@ -2,7 +2,7 @@ package com.github.wallacewatler.javamcts;
 
 /**
  * Upper confidence bound 1 policy for trees (UCT). UCT is used in tree search algorithms to decide which branches to
- * follow.
+ * follow. It is the default {@link SelectionPolicy}.
  *
  * @param explorationParam Higher values prioritize exploring more of the tree, lower values prioritize exploiting
  *                         promising branches. The recommended value is {@code Math.sqrt(2)} if rewards are in the range
@@ -14,8 +14,10 @@ package com.github.wallacewatler.javamcts;
  * @since 0.1.0
  *
  * @author Wallace Watler
+ *
+ * @see SelectionPolicy
  */
-public record UCT(double explorationParam, boolean favorUnexplored) {
+public record UCT(double explorationParam, boolean favorUnexplored) implements SelectionPolicy {
     /**
      * Convenience constructor for a UCT with the recommended defaults of {@code explorationParam = Math.sqrt(2)} and
      * {@code favorUnexplored = true}.
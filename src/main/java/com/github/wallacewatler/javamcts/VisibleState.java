@@ -32,4 +32,18 @@ public interface VisibleState<SELF extends VisibleState<SELF, ACTION>, ACTION> e
      * data may be shared between the original and the copy.
      */
     SELF copy();
+
+    /**
+     * Closed loop MCTS uses this to prove that a player has won as soon as it finds an action that guarantees them this
+     * score, instead of waiting until every other action has been proven too. The default implementation returns
+     * {@code Double.POSITIVE_INFINITY}.
+     *
+     * @return The highest score that any player can receive in this game, or {@code Double.POSITIVE_INFINITY} if there
+     * is no known limit.
+     *
+     * @since 0.3.0
+     */
+    default double maxScore() {
+        return Double.POSITIVE_INFINITY;
+    }
 }
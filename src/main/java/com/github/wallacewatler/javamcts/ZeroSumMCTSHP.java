@@ -0,0 +1,107 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-player zero-sum closed loop MCTS with hybrid parallelization. The threads are split into groups, each searching
+ * its own tree, and the trees are combined by majority voting. For details on how to use this class, see {@link MCTS}
+ * and {@link ZeroSumMCTSTP}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class ZeroSumMCTSHP implements MCTS, Cloneable {
+    private final int treeCount;
+
+    /**
+     * @param treeCount the number of trees to search; if this exceeds the thread count, one tree is searched per
+     *                  thread
+     *
+     * @throws IllegalArgumentException if {@code treeCount} is less than 1
+     */
+    public ZeroSumMCTSHP(int treeCount) {
+        if(treeCount < 1)
+            throw new IllegalArgumentException("tree count must be at least 1");
+
+        this.treeCount = treeCount;
+    }
+
+    /**
+     * @return The number of trees to search.
+     */
+    public int treeCount() {
+        return treeCount;
+    }
+
+    @Override
+    public
+    <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SearchResults<ACTION> search(int numPlayers, STATE rootState, SearchParameters params, Random rand, boolean useTable) {
+        if(numPlayers != 2)
+            throw new IllegalArgumentException("numPlayers must be 2 for a zero-sum search");
+
+        final UCT uct = Procedures.requireUct(params, "ZeroSumMCTS-HP");
+
+        if(rootState.validActions().isEmpty())
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final int numTrees = Math.min(treeCount, params.threadCount());
+
+        // One search tree and transposition table for each group of threads
+        final ArrayList<ZeroSumNode<STATE, ACTION>> rootNodes = new ArrayList<>(numTrees);
+        final ArrayList<ConcurrentHashMap<STATE, ZeroSumNode<STATE, ACTION>>> tables = new ArrayList<>(numTrees);
+        for(int i = 0; i < numTrees; i++) {
+            rootNodes.add(new ZeroSumNode<>(rootState, new double[2]));
+            tables.add(useTable ? new ConcurrentHashMap<>() : null);
+        }
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("zerosummctshp", params, numTrees, tree -> {
+            final ZeroSumNode<STATE, ACTION> rootNode = rootNodes.get(tree);
+            final ConcurrentHashMap<STATE, ZeroSumNode<STATE, ACTION>> table = tables.get(tree);
+            final double[] scoreBuffer = new double[2];
+            return () -> {
+                Procedures.iterZeroSumMCTS(rootNode, uct, rand, table, scoreBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action by majority voting.
+        final ArrayList<ACTION> votes = new ArrayList<>(rootNodes.size());
+        int numNodes = 0;
+        int numStates = 0;
+        for(int i = 0; i < rootNodes.size(); i++) {
+            final ZeroSumNode<STATE, ACTION> root = rootNodes.get(i);
+            votes.add(Procedures.mostVisited(root, root.validActions(), rand));
+            numNodes += root.numNodes();
+            numStates += tables.get(i) == null ? 0 : tables.get(i).size();
+        }
+        final ACTION bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, numStates);
+    }
+
+    @Override
+    public String toString() {
+        return "ZeroSumMCTS-HP(" + treeCount + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        return treeCount == ((ZeroSumMCTSHP) o).treeCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return treeCount;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.*;
+
+import java.util.*;
+
+/**
+ * Two-player zero-sum closed loop MCTS with root parallelization. For details on how to use this class, see
+ * {@link MCTS} and {@link ZeroSumMCTSTP}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class ZeroSumMCTSRP implements MCTS, Cloneable {
+    @Override
+    public
+    <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SearchResults<ACTION> search(int numPlayers, STATE rootState, SearchParameters params, Random rand, boolean useTable) {
+        if(numPlayers != 2)
+            throw new IllegalArgumentException("numPlayers must be 2 for a zero-sum search");
+
+        final UCT uct = Procedures.requireUct(params, "ZeroSumMCTS-RP");
+
+        if(rootState.validActions().isEmpty())
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        // One search tree and transposition table for each thread
+        final ArrayList<ZeroSumNode<STATE, ACTION>> rootNodes = new ArrayList<>(params.threadCount());
+        final ArrayList<HashMap<STATE, ZeroSumNode<STATE, ACTION>>> tables = new ArrayList<>(params.threadCount());
+        for(int i = 0; i < params.threadCount(); i++) {
+            rootNodes.add(new ZeroSumNode<>(rootState, new double[2]));
+            tables.add(useTable ? new HashMap<>() : null);
+        }
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("zerosummctsrp", params, params.threadCount(), tree -> {
+            final ZeroSumNode<STATE, ACTION> rootNode = rootNodes.get(tree);
+            final HashMap<STATE, ZeroSumNode<STATE, ACTION>> table = tables.get(tree);
+            final double[] scoreBuffer = new double[2];
+            return () -> {
+                Procedures.iterZeroSumMCTS(rootNode, uct, rand, table, scoreBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action by majority voting.
+        final ArrayList<ACTION> votes = new ArrayList<>(rootNodes.size());
+        int numNodes = 0;
+        int numStates = 0;
+        for(int i = 0; i < rootNodes.size(); i++) {
+            final ZeroSumNode<STATE, ACTION> root = rootNodes.get(i);
+            votes.add(Procedures.mostVisited(root, root.validActions(), rand));
+            numNodes += root.numNodes();
+            numStates += tables.get(i) == null ? 0 : tables.get(i).size();
+        }
+        final ACTION bestAction = TreeWorkers.majority(votes);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), numNodes, numStates);
+    }
+
+    @Override
+    public String toString() {
+        return "ZeroSumMCTS-RP";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.wallacewatler.javamcts;
+
+import com.github.wallacewatler.javamcts.hidden.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-player zero-sum closed loop MCTS with tree parallelization. For details on how to use this class, see
+ * {@link MCTS}.
+ * <p>
+ * This is specialized for games with exactly two players whose scores always sum to the same constant, such as 1 for a
+ * win and 0 for a loss. Each node stores a single value from player 0's point of view rather than one total per
+ * player, and the value is negated when player 1 selects a move. This halves the memory used for scores and makes
+ * selection and backpropagation cheaper. The UCT values differ from those of {@link MCTSTP} only by a constant, so the
+ * search behaves the same. Searching with any number of players other than 2 throws an
+ * {@link IllegalArgumentException}.
+ * <p>
+ * Unlike {@link MCTSTP}, this only selects branches with UCT and doesn't prove outcomes. The selection policy is
+ * {@link SearchParameters#selectionPolicy()}, which must be a {@link UCT}; searching with another policy, RAVE, or
+ * progressive widening throws an {@link IllegalArgumentException}.
+ *
+ * @since 0.3.0
+ *
+ * @author Wallace Watler
+ */
+public final class ZeroSumMCTSTP implements MCTS, Cloneable {
+    @Override
+    public
+    <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    SearchResults<ACTION> search(int numPlayers, STATE rootState, SearchParameters params, Random rand, boolean useTable) {
+        if(numPlayers != 2)
+            throw new IllegalArgumentException("numPlayers must be 2 for a zero-sum search");
+
+        final UCT uct = Procedures.requireUct(params, "ZeroSumMCTS-TP");
+
+        // These are shared across threads
+        final ZeroSumNode<STATE, ACTION> rootNode = new ZeroSumNode<>(rootState, new double[2]);
+        final ConcurrentHashMap<STATE, ZeroSumNode<STATE, ACTION>> table = useTable ? new ConcurrentHashMap<>() : null;
+        // -------------------------------
+
+        if(rootNode.validActions().isEmpty())
+            return new SearchResults<>(null, 0, 0, 1, 1);
+
+        final TreeWorkers.Stats stats = TreeWorkers.run("zerosummctstp", params, 1, tree -> {
+            final double[] scoreBuffer = new double[2];
+            return () -> {
+                Procedures.iterZeroSumMCTS(rootNode, uct, rand, table, scoreBuffer);
+                return true;
+            };
+        });
+
+        // Recommend the most selected action.
+        final ACTION bestAction = Procedures.mostVisited(rootNode, rootNode.validActions(), rand);
+        return new SearchResults<>(bestAction, stats.itersPerThread(), stats.elapsedMillis(), rootNode.numNodes(), table == null ? 0 : table.size());
+    }
+
+    @Override
+    public String toString() {
+        return "ZeroSumMCTS-TP";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+}
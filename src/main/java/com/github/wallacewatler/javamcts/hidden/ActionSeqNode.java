@@ -1,9 +1,9 @@
 package com.github.wallacewatler.javamcts.hidden;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -12,15 +12,24 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  */
 public final class ActionSeqNode implements SearchNode<Object> {
     private final ReentrantReadWriteLock statsLock = new ReentrantReadWriteLock();
-    private final ReentrantLock childCreationLock = new ReentrantLock();
     private final ConcurrentHashMap<Object, ActionSeqNode> children = new ConcurrentHashMap<>();
+    private final AvailableCounts availableCounts = new AvailableCounts();
+
+    /** Created on the first AMAF update; guarded by {@link #statsLock}. */
+    private AmafStats amafStats;
 
     private volatile int visitCount = 0;
-    private volatile int availableCount = 0;
     private final double[] totalScores;
 
-    public ActionSeqNode(int numPlayers) {
+    /** The sum of the squares of each player's scores, or null if the search doesn't use them. */
+    private final double[] totalSquaredScores;
+
+    /**
+     * @param trackVariance whether to track squared scores in this node and its descendants
+     */
+    public ActionSeqNode(int numPlayers, boolean trackVariance) {
         totalScores = new double[numPlayers];
+        totalSquaredScores = trackVariance ? new double[numPlayers] : null;
     }
 
     @Override
@@ -33,6 +42,11 @@ public final class ActionSeqNode implements SearchNode<Object> {
         return totalScores[activePlayer];
     }
 
+    @Override
+    public double totalSquaredScore(int activePlayer) {
+        return totalSquaredScores == null ? 0 : totalSquaredScores[activePlayer];
+    }
+
     @Override
     public ActionSeqNode getChild(Object action) {
         return children.get(action);
@@ -40,26 +54,43 @@ public final class ActionSeqNode implements SearchNode<Object> {
 
     @Override
     public int selectCount(Object action) {
-        return getChild(action).visitCount;
+        final ActionSeqNode child = getChild(action);
+        return child == null ? 0 : child.visitCount;
     }
 
     @Override
     public int availableCount(Object action) {
-        return getChild(action).availableCount;
+        return availableCounts.get(action);
     }
 
     @Override
-    public ReadWriteLock statsLock() {
-        return statsLock;
+    public int amafCount(Object action) {
+        return amafStats == null ? 0 : amafStats.count(action);
     }
 
-    public void createChildIfNotPresent(Object action) {
-        childCreationLock.lock();
+    @Override
+    public double amafScore(Object action) {
+        return amafStats == null ? 0 : amafStats.total(action);
+    }
 
-        if(!children.containsKey(action))
-            children.put(action, new ActionSeqNode(totalScores.length));
+    @Override
+    public ReadWriteLock statsLock() {
+        return statsLock;
+    }
 
-        childCreationLock.unlock();
+    /**
+     * Create the child for {@code action} if it doesn't already exist. This does not lock if the child exists.
+     *
+     * @return The child corresponding to {@code action}.
+     */
+    public ActionSeqNode createChildIfNotPresent(Object action) {
+        final ActionSeqNode child = children.get(action);
+        if(child != null)
+            return child;
+
+        final ActionSeqNode newChild = new ActionSeqNode(totalScores.length, totalSquaredScores != null);
+        final ActionSeqNode existing = children.putIfAbsent(action, newChild);
+        return existing == null ? newChild : existing;
     }
 
     @SuppressWarnings("NonAtomicOperationOnVolatileField")
@@ -69,14 +100,33 @@ public final class ActionSeqNode implements SearchNode<Object> {
         visitCount++;
         for(int i = 0; i < scores.length; i++)
             totalScores[i] += scores[i];
+        if(totalSquaredScores != null)
+            for(int i = 0; i < scores.length; i++)
+                totalSquaredScores[i] += scores[i] * scores[i];
 
         statsLock.writeLock().unlock();
     }
 
-    @SuppressWarnings("NonAtomicOperationOnVolatileField")
-    public void incAvailableCount() {
+    /**
+     * Credit {@code score} to the AMAF statistics of every distinct action in {@code moves}, from index {@code from}
+     * onward, that was done by {@code player}.
+     */
+    public void updateAmaf(AmafRecorder moves, int from, int player, double score) {
+        statsLock.writeLock().lock();
+
+        if(amafStats == null)
+            amafStats = new AmafStats();
+        amafStats.update(moves, from, player, score);
+
+        statsLock.writeLock().unlock();
+    }
+
+    /**
+     * Record that each of {@code actions} was available for selection from this node. Children are not created.
+     */
+    public void incAvailableCounts(List<?> actions) {
         statsLock.writeLock().lock();
-        availableCount++;
+        availableCounts.incrementAll(actions);
         statsLock.writeLock().unlock();
     }
 
@@ -92,7 +142,7 @@ public final class ActionSeqNode implements SearchNode<Object> {
     public String toString() {
         return "ActionSeqNode{" +
                 "visitCount=" + visitCount +
-                ", availableCount=" + availableCount +
+                ", availableCounts=" + availableCounts +
                 ", totalScores=" + Arrays.toString(totalScores) +
                 '}';
     }
@@ -0,0 +1,123 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.ObservableAction;
+import com.github.wallacewatler.javamcts.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * A view of the active player's current node in MO-ISMCTS whose branches are actions instead of move IDs, so that the
+ * usual selection procedures can be used on it. The active player observes their own actions fully, so each action is
+ * its own move. The IDs of the actions are computed once per step rather than every time the selection procedure asks
+ * about an action. Each worker thread has its own view, which is reset at every step.
+ */
+public final class ActiveMoves<STATE extends State<ACTION>, ACTION extends ObservableAction<STATE>> implements SearchNode<ACTION> {
+    private final MoveIds moveIds;
+
+    private MoveSeqNode node;
+    private STATE context;
+    private List<ACTION> actions;
+    private int[] ids = new int[16];
+
+    /** The index in {@link #actions} of the last action asked about. */
+    private int cursor;
+
+    public ActiveMoves(MoveIds moveIds) {
+        this.moveIds = moveIds;
+    }
+
+    /**
+     * @return The move IDs shared by the search.
+     */
+    public MoveIds moveIds() {
+        return moveIds;
+    }
+
+    /**
+     * View {@code node} with {@code actions} as its branches.
+     *
+     * @param context the state from which the actions will be done
+     * @param actions the actions to be considered
+     */
+    public void reset(MoveSeqNode node, STATE context, List<ACTION> actions) {
+        this.node = node;
+        this.context = context;
+        this.actions = actions;
+        if(ids.length < actions.size())
+            ids = new int[Math.max(actions.size(), 2 * ids.length)];
+
+        final int activePlayer = context.activePlayer();
+        for(int i = 0; i < actions.size(); i++)
+            ids[i] = moveIds.of(actions.get(i), context, activePlayer);
+        cursor = 0;
+    }
+
+    /**
+     * @return The IDs of the actions, in the same order; only the first {@code actions.size()} elements are valid.
+     */
+    public int[] ids() {
+        return ids;
+    }
+
+    /**
+     * @return The ID of {@code action} from the active player's point of view.
+     */
+    public int idOf(ACTION action) {
+        // Selection procedures ask about the actions in order, so the action is almost always at or just after the
+        // cursor.
+        final int size = actions.size();
+        for(int i = 0; i < size; i++) {
+            final int index = (cursor + i) % size;
+            if(actions.get(index) == action) {
+                cursor = index;
+                return ids[index];
+            }
+        }
+        return moveIds.of(action, context, context.activePlayer());
+    }
+
+    @Override
+    public int visitCount() {
+        return node.visitCount();
+    }
+
+    @Override
+    public double totalScore(int activePlayer) {
+        return node.totalScore(activePlayer);
+    }
+
+    @Override
+    public double totalSquaredScore(int activePlayer) {
+        return node.totalSquaredScore(activePlayer);
+    }
+
+    @Override
+    public MoveSeqNode getChild(ACTION action) {
+        return node.getChild(idOf(action));
+    }
+
+    @Override
+    public int selectCount(ACTION action) {
+        return node.selectCount(idOf(action));
+    }
+
+    @Override
+    public int availableCount(ACTION action) {
+        return node.availableCount(idOf(action));
+    }
+
+    @Override
+    public ReadWriteLock statsLock() {
+        return node.statsLock();
+    }
+
+    @Override
+    public String toString() {
+        return "ActiveMoves{" +
+                "node=" + node +
+                ", ids=" + Arrays.toString(Arrays.copyOf(ids, actions.size())) +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.RAVE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Records the actions done during an iteration, along with the player who did each one, so that they can be credited
+ * to the AMAF statistics of the nodes along the path. Each worker thread has its own recorder, which is reused between
+ * iterations.
+ */
+public final class AmafRecorder {
+    private final RAVE rave;
+    private final ArrayList<Object> actions = new ArrayList<>();
+    private int[] players = new int[16];
+
+    public AmafRecorder(RAVE rave) {
+        this.rave = rave;
+    }
+
+    /**
+     * @return The RAVE parameters of the search.
+     */
+    public RAVE rave() {
+        return rave;
+    }
+
+    /**
+     * Forget all recorded actions. This is called at the start of each iteration.
+     */
+    public void clear() {
+        actions.clear();
+    }
+
+    /**
+     * Record that {@code player} did {@code action}.
+     */
+    public void record(int player, Object action) {
+        if(actions.size() == players.length)
+            players = Arrays.copyOf(players, 2 * players.length);
+
+        players[actions.size()] = player;
+        actions.add(action);
+    }
+
+    /**
+     * @return The number of recorded actions.
+     */
+    public int size() {
+        return actions.size();
+    }
+
+    /**
+     * @return The player who did the action at index {@code i}.
+     */
+    public int player(int i) {
+        return players[i];
+    }
+
+    /**
+     * @return The action at index {@code i}.
+     */
+    public Object action(int i) {
+        return actions.get(i);
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * All-moves-as-first (AMAF) statistics for the branches leading out of a node, as used by RAVE. Like
+ * {@link AvailableCounts}, the statistics are stored on the parent in arrays indexed by slot so that branches don't
+ * need children to be recorded.
+ * <p>
+ * This class is not thread-safe; the owning node's stats lock must be held while using it.
+ */
+final class AmafStats {
+    /** Maps each branch that has been recorded to its index in the arrays below. */
+    private final HashMap<Object, Integer> slots = new HashMap<>();
+    private int[] counts = new int[4];
+    private double[] totals = new double[4];
+
+    /** The update in which each slot was last credited, so that a branch is only credited once per update. */
+    private int[] stamps = new int[4];
+    private int stamp = 0;
+
+    /**
+     * Credit {@code score} to every distinct action in {@code moves} from index {@code from} onward that was done by
+     * {@code player}.
+     */
+    void update(AmafRecorder moves, int from, int player, double score) {
+        stamp++;
+        for(int i = from; i < moves.size(); i++) {
+            if(moves.player(i) != player)
+                continue;
+
+            final int slot = slotOf(moves.action(i));
+            if(stamps[slot] != stamp) {
+                stamps[slot] = stamp;
+                counts[slot]++;
+                totals[slot] += score;
+            }
+        }
+    }
+
+    /**
+     * @return The number of times {@code branch} has been credited.
+     */
+    int count(Object branch) {
+        final Integer slot = slots.get(branch);
+        return slot == null ? 0 : counts[slot];
+    }
+
+    /**
+     * @return The total score credited to {@code branch}.
+     */
+    double total(Object branch) {
+        final Integer slot = slots.get(branch);
+        return slot == null ? 0 : totals[slot];
+    }
+
+    private int slotOf(Object branch) {
+        Integer slot = slots.get(branch);
+        if(slot == null) {
+            slot = slots.size();
+            slots.put(branch, slot);
+            if(slot == counts.length) {
+                counts = Arrays.copyOf(counts, 2 * slot);
+                totals = Arrays.copyOf(totals, 2 * slot);
+                stamps = Arrays.copyOf(stamps, 2 * slot);
+            }
+        }
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        slots.forEach((branch, slot) -> {
+            if(sb.length() > 1)
+                sb.append(", ");
+            sb.append(branch).append('=').append(totals[slot]).append('/').append(counts[slot]);
+        });
+        return sb.append('}').toString();
+    }
+}
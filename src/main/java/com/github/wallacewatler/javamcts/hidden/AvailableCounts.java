@@ -0,0 +1,74 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Counts how many times each branch leading out of a node has been available for selection. The counts are stored on
+ * the parent in a single array so that a whole selection step can be recorded at once, and so that children only need
+ * to exist once they have been selected.
+ * <p>
+ * Branches get slots in the order they are first seen, so the slots follow the first list of valid actions recorded.
+ * A node's valid actions usually come in the same order every time, in which case each branch's slot is just its index
+ * in the list and recording a step is a plain array increment per branch. Only branches that don't line up with their
+ * index are looked up by value.
+ * <p>
+ * This class is not thread-safe; the owning node's stats lock must be held while using it.
+ */
+final class AvailableCounts {
+    /** Maps each branch that has been available to its slot. */
+    private final HashMap<Object, Integer> slots = new HashMap<>();
+
+    /** The branch in each slot, in the order that they were first seen. */
+    private Object[] slotBranches = new Object[4];
+    private int[] counts = new int[4];
+    private int size = 0;
+
+    /**
+     * Increment the available count of every branch in {@code branches}.
+     */
+    void incrementAll(List<?> branches) {
+        int index = 0;
+        for(Object branch : branches) {
+            final int slot = index < size && branch.equals(slotBranches[index]) ? index : slotOf(branch);
+            counts[slot]++;
+            index++;
+        }
+    }
+
+    /**
+     * @return The number of times {@code branch} has been available.
+     */
+    int get(Object branch) {
+        final Integer slot = slots.get(branch);
+        return slot == null ? 0 : counts[slot];
+    }
+
+    private int slotOf(Object branch) {
+        final Integer slot = slots.get(branch);
+        return slot == null ? addSlot(branch) : slot;
+    }
+
+    private int addSlot(Object branch) {
+        final int slot = size++;
+        if(slot == counts.length) {
+            slotBranches = Arrays.copyOf(slotBranches, 2 * slot);
+            counts = Arrays.copyOf(counts, 2 * slot);
+        }
+        slotBranches[slot] = branch;
+        slots.put(branch, slot);
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        for(int slot = 0; slot < size; slot++) {
+            if(slot > 0)
+                sb.append(", ");
+            sb.append(slotBranches[slot]).append('=').append(counts[slot]);
+        }
+        return sb.append('}').toString();
+    }
+}
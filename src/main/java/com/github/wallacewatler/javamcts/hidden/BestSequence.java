@@ -0,0 +1,44 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import java.util.List;
+
+/**
+ * The best sequence of actions found by a single-player search, shared between all threads of the search. The score
+ * can be read without locking so that threads can check for pruning cheaply.
+ *
+ * @param <ACTION> the type of actions in the sequence
+ */
+public final class BestSequence<ACTION> {
+    private volatile double score = Double.NEGATIVE_INFINITY;
+    private List<ACTION> actions = List.of();
+
+    /**
+     * @return The score of the best sequence, or {@code Double.NEGATIVE_INFINITY} if none has been offered.
+     */
+    public double score() {
+        return score;
+    }
+
+    /**
+     * @return The best sequence of actions found.
+     */
+    public synchronized List<ACTION> actions() {
+        return actions;
+    }
+
+    /**
+     * Replace the best sequence with {@code actions} if {@code score} is higher than the best score. {@code actions} is
+     * copied, so the caller can reuse it.
+     */
+    public void offer(double score, List<ACTION> actions) {
+        if(score <= this.score)
+            return;
+
+        synchronized (this) {
+            if(score > this.score) {
+                this.actions = List.copyOf(actions);
+                this.score = score;
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.CancellationToken;
+
+import java.util.ArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits how many workers search at once, across every search that runs through it. A worker must hold one of the
+ * gate's cores to search; when none is free, it waits until a running worker finishes or gives up its core. Workers
+ * give up their cores cooperatively, between iterations, through {@link Slot#yieldIfDue}.
+ * <p>
+ * Each search is a {@link Job} with a deadline and a running total of the time its workers have held cores. Waiting
+ * workers are served in order of deadline under earliest-deadline-first, or in order of time used under fair share,
+ * with ties broken first come, first served.
+ */
+public final class CoreGate {
+    /** The gate that searches started on this thread are scheduled with, if any. */
+    private static final ThreadLocal<CoreGate> CURRENT = new ThreadLocal<>();
+
+    /** The slot holding a core for the worker on this thread, if any. */
+    private static final ThreadLocal<Slot> HELD = new ThreadLocal<>();
+
+    /** How long a worker may hold a core before giving it to a waiting worker of equal priority, in nanoseconds. */
+    private static final long SLICE = 5_000_000;
+
+    /** How often a waiting worker checks whether its search has been cancelled, in nanoseconds. */
+    private static final long CANCEL_CHECK = 1_000_000;
+
+    private final int cores;
+    private final boolean earliestDeadlineFirst;
+
+    /** Guards every field below, and the mutable state of every job and slot of this gate. */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayList<Slot> waiting = new ArrayList<>();
+    private int free;
+    private long arrivals = 0;
+
+    /** The size of {@link #waiting}, readable without the lock so that running workers can check it cheaply. */
+    private volatile int waitingCount = 0;
+
+    public CoreGate(int cores, boolean earliestDeadlineFirst) {
+        this.cores = cores;
+        this.earliestDeadlineFirst = earliestDeadlineFirst;
+        free = cores;
+    }
+
+    /**
+     * @return The gate that searches started on this thread are scheduled with, or null if they aren't scheduled.
+     */
+    public static CoreGate current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param gate the gate that searches started on this thread will be scheduled with, or null to stop scheduling them
+     */
+    public static void setCurrent(CoreGate gate) {
+        if(gate == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(gate);
+    }
+
+    /**
+     * Give up the core held by the worker on this thread, if it holds one. Every worker must call this when it is done.
+     */
+    public static void releaseHeld() {
+        final Slot slot = HELD.get();
+        if(slot != null)
+            slot.release();
+    }
+
+    public int cores() {
+        return cores;
+    }
+
+    public boolean earliestDeadlineFirst() {
+        return earliestDeadlineFirst;
+    }
+
+    /**
+     * @param deadline the {@link System#nanoTime()} by which the search must finish
+     * @param wallClock true if the search is timed by the wall clock, so that workers stop waiting for a core at the
+     *                  deadline; otherwise they wait as long as it takes
+     * @param cancellation stops the search's workers from waiting once cancelled, or null if not given
+     *
+     * @return A new job for a search.
+     */
+    public Job newJob(long deadline, boolean wallClock, CancellationToken cancellation) {
+        return new Job(deadline, wallClock && deadline != Long.MAX_VALUE, cancellation);
+    }
+
+    /**
+     * The waiting slot that should get the next free core. Must be called with the lock held.
+     */
+    private Slot nextWaiting() {
+        Slot best = null;
+        for(Slot slot : waiting)
+            if(best == null || compare(slot, best) < 0)
+                best = slot;
+
+        return best;
+    }
+
+    /**
+     * Compare the priority of two slots' jobs, ignoring arrival order. Must be called with the lock held.
+     *
+     * @return A negative number if {@code a} goes before {@code b}, a positive number if after, or 0 if they're equal.
+     */
+    private int comparePriority(Slot a, Slot b) {
+        return earliestDeadlineFirst
+                ? Long.compare(a.job.deadline, b.job.deadline)
+                : Long.compare(a.job.usedNanos, b.job.usedNanos);
+    }
+
+    private int compare(Slot a, Slot b) {
+        final int byPriority = comparePriority(a, b);
+        return byPriority != 0 ? byPriority : Long.compare(a.arrival, b.arrival);
+    }
+
+    /**
+     * Hand a core to the next waiting slot, or return it to the free cores if none are waiting. Must be called with the
+     * lock held.
+     */
+    private void handOff() {
+        final Slot next = nextWaiting();
+        if(next == null) {
+            free++;
+        } else {
+            waiting.remove(next);
+            waitingCount = waiting.size();
+            next.granted = true;
+            next.turn.signal();
+        }
+    }
+
+    /**
+     * A search scheduled with this gate.
+     */
+    public final class Job {
+        private final long deadline;
+        private final boolean wallClock;
+        private final CancellationToken cancellation;
+
+        /** The total time that this job's workers have held cores, in nanoseconds. */
+        private long usedNanos = 0;
+
+        private Job(long deadline, boolean wallClock, CancellationToken cancellation) {
+            this.deadline = deadline;
+            this.wallClock = wallClock;
+            this.cancellation = cancellation;
+        }
+
+        private boolean cancelled() {
+            return cancellation != null && cancellation.isCancelled();
+        }
+
+        /**
+         * @return A new slot for a worker of this job, which must then be acquired before the worker searches.
+         */
+        public Slot newSlot() {
+            return new Slot(this);
+        }
+    }
+
+    /**
+     * One worker's claim on a core. Instances of this class must not be shared between threads.
+     */
+    public final class Slot {
+        private final Job job;
+        private final Condition turn = lock.newCondition();
+
+        /** Whether a core has been handed to this slot while it was waiting. */
+        private boolean granted = false;
+        private boolean held = false;
+        private long arrival;
+        private long heldSince;
+
+        private Slot(Job job) {
+            this.job = job;
+        }
+
+        /**
+         * Wait for a core. Gives up at the job's deadline if it is timed by the wall clock, if the job is cancelled, or
+         * if the thread is interrupted, in which case the interrupt status is kept.
+         *
+         * @return True if this slot now holds a core.
+         */
+        public boolean acquire() {
+            lock.lock();
+            try {
+                if(free > 0 && waiting.isEmpty()) {
+                    free--;
+                    hold();
+                    return true;
+                }
+
+                return await();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Give up this slot's core if a waiting worker should have it instead, then wait for a core again.
+         *
+         * @return True if this slot holds a core, or false if it gave up waiting for one.
+         */
+        public boolean yieldIfDue() {
+            if(waitingCount == 0 || !held)
+                return held;
+
+            lock.lock();
+            try {
+                final Slot next = nextWaiting();
+                if(next == null)
+                    return true;
+
+                final long now = System.nanoTime();
+                final int priority = comparePriority(next, this);
+                final boolean sliceOver = now - heldSince >= SLICE;
+                if(!(earliestDeadlineFirst && priority < 0) && !(sliceOver && priority <= 0))
+                    return true;
+
+                unhold(now);
+                handOff();
+                return await();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Give up this slot's core, if it holds one.
+         */
+        public void release() {
+            if(!held)
+                return;
+
+            lock.lock();
+            try {
+                unhold(System.nanoTime());
+                handOff();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Join the waiting slots until a core is handed to this one. Must be called with the lock held.
+         */
+        private boolean await() {
+            arrival = arrivals++;
+            granted = false;
+            waiting.add(this);
+            waitingCount = waiting.size();
+
+            // Without a cancellation token, nothing but a grant, the deadline, or an interrupt can end the wait.
+            final long maxWait = job.cancellation == null ? Long.MAX_VALUE : CANCEL_CHECK;
+            try {
+                while(!granted && !job.cancelled()) {
+                    final long remaining = job.wallClock ? job.deadline - System.nanoTime() : Long.MAX_VALUE;
+                    if(remaining <= 0)
+                        break;
+
+                    turn.awaitNanos(Math.min(remaining, maxWait));
+                }
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if(granted) {
+                hold();
+                return true;
+            }
+
+            waiting.remove(this);
+            waitingCount = waiting.size();
+            return false;
+        }
+
+        private void hold() {
+            held = true;
+            heldSince = System.nanoTime();
+            HELD.set(this);
+        }
+
+        private void unhold(long now) {
+            held = false;
+            job.usedNanos += now - heldSince;
+            HELD.remove();
+        }
+    }
+
+    /**
+     * @return A deadline {@code nanos} after {@code start}, saturating instead of overflowing.
+     */
+    public static long deadline(long start, long nanos) {
+        final long deadline = start + nanos;
+        return nanos > 0 && deadline < start ? Long.MAX_VALUE : deadline;
+    }
+}
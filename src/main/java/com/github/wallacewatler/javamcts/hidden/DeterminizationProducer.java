@@ -0,0 +1,111 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.DeterminizationReuse;
+import com.github.wallacewatler.javamcts.InfoSet;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generates determinizations of an information set on background threads and keeps them in a ring buffer for the
+ * worker threads of a search to take. One producer is shared by all workers of a search. Neither side ever locks:
+ * workers only poll the buffer, and producer threads that find it full sleep briefly before trying again.
+ */
+public final class DeterminizationProducer<STATE> {
+    /** How long a producer thread sleeps when the buffer is full. */
+    private static final long FULL_PARK_NANOS = 50_000;
+
+    private final RingBuffer<STATE> buffer;
+    private final Thread[] threads;
+
+    /** The first exception thrown by a producer thread, which is rethrown to the search. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private DeterminizationProducer(InfoSet<STATE, ?> infoSet, int capacity, int threadCount, Random rand) {
+        buffer = new RingBuffer<>(capacity);
+        threads = new Thread[threadCount];
+        for(int i = 0; i < threadCount; i++) {
+            // Each producer has its own generator, seeded from the search's, so that a seeded search is reproducible
+            // and producers don't contend with workers over one seed.
+            final Random producerRand = new Random(rand.nextLong());
+            threads[i] = new Thread(() -> {
+                STATE state = null;
+                try {
+                    while(!Thread.currentThread().isInterrupted()) {
+                        if(state == null)
+                            state = infoSet.determinize(producerRand);
+                        if(buffer.offer(state))
+                            state = null;
+                        else
+                            LockSupport.parkNanos(FULL_PARK_NANOS);
+                    }
+                } catch(RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "determinizer" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * Start producing determinizations if {@code reuse} asks for them to be generated ahead of time.
+     *
+     * @param reuse the determinization reuse settings of a search, or null if determinizations aren't reused
+     *
+     * @return A running producer, or null if determinizations aren't generated ahead of time.
+     */
+    public static <STATE> DeterminizationProducer<STATE> start(InfoSet<STATE, ?> infoSet, DeterminizationReuse reuse, Random rand) {
+        if(reuse == null || reuse.prefetch() == 0)
+            return null;
+
+        return new DeterminizationProducer<>(infoSet, reuse.prefetch(), reuse.producerThreads(), rand);
+    }
+
+    /**
+     * @return A determinization, or null if none is ready. This never waits.
+     *
+     * @throws RuntimeException the first exception thrown by a producer thread, if one failed to determinize
+     */
+    public STATE poll() {
+        rethrowFailure();
+        return buffer.poll();
+    }
+
+    /**
+     * Stop producing determinizations and wait for the producer threads to finish. This is called once the search's
+     * workers have finished. The calling thread's interrupt status is kept.
+     *
+     * @throws RuntimeException the first exception thrown by a producer thread, if one failed to determinize
+     */
+    public void stop() {
+        for(Thread thread : threads)
+            thread.interrupt();
+
+        boolean interrupted = false;
+        for(Thread thread : threads) {
+            while(true) {
+                try {
+                    thread.join();
+                    break;
+                } catch(InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        if(interrupted)
+            Thread.currentThread().interrupt();
+
+        rethrowFailure();
+    }
+
+    private void rethrowFailure() {
+        final Throwable t = failure.get();
+        if(t instanceof RuntimeException e)
+            throw e;
+        if(t instanceof Error e)
+            throw e;
+    }
+}
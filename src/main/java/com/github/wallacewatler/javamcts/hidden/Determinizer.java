@@ -0,0 +1,60 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.DeterminizationReuse;
+import com.github.wallacewatler.javamcts.InfoSet;
+
+import java.util.Random;
+
+/**
+ * Supplies the determinized state that each iteration of ISMCTS or MO-ISMCTS starts from. Each worker thread has its
+ * own determinizer. If determinizations are reused, each one is handed out for several iterations: copies are handed
+ * out for all but the last, which gets the determinization itself.
+ */
+public final class Determinizer<STATE, ACTION> {
+    private final InfoSet<STATE, ACTION> infoSet;
+    private final int itersPerDeterminization;
+    private final DeterminizationProducer<STATE> producer;
+    private final Random rand;
+
+    private STATE current;
+    private int usesLeft = 0;
+
+    /**
+     * @param reuse the determinization reuse settings, or null to use each determinization once
+     * @param producer a source of determinizations generated ahead of time, or null if there is none
+     */
+    public Determinizer(InfoSet<STATE, ACTION> infoSet, DeterminizationReuse reuse, DeterminizationProducer<STATE> producer, Random rand) {
+        this.infoSet = infoSet;
+        this.itersPerDeterminization = reuse == null ? 1 : reuse.iterations();
+        this.producer = producer;
+        this.rand = rand;
+    }
+
+    /**
+     * @return The information set being determinized.
+     */
+    public InfoSet<STATE, ACTION> infoSet() {
+        return infoSet;
+    }
+
+    /**
+     * @return A determinized state for the next iteration, which the iteration is free to mutate.
+     */
+    public STATE next() {
+        if(usesLeft == 0) {
+            current = fresh();
+            usesLeft = itersPerDeterminization;
+        }
+
+        return --usesLeft == 0 ? current : infoSet.copyDeterminization(current);
+    }
+
+    private STATE fresh() {
+        if(producer != null) {
+            final STATE state = producer.poll();
+            if(state != null)
+                return state;
+        }
+        return infoSet.determinize(rand);
+    }
+}
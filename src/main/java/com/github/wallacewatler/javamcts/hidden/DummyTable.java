@@ -7,18 +7,15 @@ import com.github.wallacewatler.javamcts.VisibleState;
  * A {@link TranspositionTable} that doesn't do anything. Useful for code that requires a table but shouldn't use it.
  */
 public final class DummyTable<STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>> implements TranspositionTable<STATE, ACTION> {
-    @Override
-    public boolean contains(STATE state) {
-        return false;
-    }
-
     @Override
     public StateNode<STATE, ACTION> get(STATE state) {
         return null;
     }
 
     @Override
-    public void put(STATE state, StateNode<STATE, ACTION> node) {}
+    public StateNode<STATE, ACTION> putIfAbsent(STATE state, StateNode<STATE, ACTION> node) {
+        return null;
+    }
 
     @Override
     public int size() {
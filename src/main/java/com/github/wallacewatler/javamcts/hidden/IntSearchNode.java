@@ -0,0 +1,41 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * A node in a search tree whose branches are integer-encoded actions. Branches are identified by their index in
+ * {@link #validActions()}, and each branch leads to at most one child.
+ */
+public interface IntSearchNode {
+    /**
+     * @return The number of times this node has been visited.
+     */
+    int visitCount();
+
+    /**
+     * @param activePlayer the player who does an action from this node
+     *
+     * @return The estimated score for {@code activePlayer} in this node.
+     */
+    double totalScore(int activePlayer);
+
+    /**
+     * @return The valid actions from this node. The returned array must not be modified.
+     */
+    int[] validActions();
+
+    /**
+     * @return The number of branches leading out of this node.
+     */
+    int numBranches();
+
+    /**
+     * @return The child at {@code branch}, or null if it hasn't been created yet.
+     */
+    IntSearchNode getChild(int branch);
+
+    /**
+     * @return The lock used to maintain the integrity of this node's statistics.
+     */
+    ReadWriteLock statsLock();
+}
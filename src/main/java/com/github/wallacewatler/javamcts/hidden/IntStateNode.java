@@ -0,0 +1,133 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.IntActionState;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A node in a search tree that represents a particular game state with integer-encoded actions. Branches are
+ * identified by their index in {@link #validActions()}, and children are stored in an array at the same index.
+ */
+public final class IntStateNode<STATE extends IntActionState<STATE>> implements IntSearchNode {
+    private final ReentrantReadWriteLock statsLock = new ReentrantReadWriteLock();
+    private final AtomicReferenceArray<IntStateNode<STATE>> children;
+    public final STATE state;
+
+    /** The valid actions from {@link #state}. */
+    private final int[] validActions;
+
+    /** Cached from {@link #state}; null if the state is not terminal. */
+    private final double[] scores;
+
+    private volatile int visitCount = 0;
+    private final double[] totalScores;
+
+    public IntStateNode(int numPlayers, STATE state) {
+        this.state = state;
+        final int[] actions = new int[state.actionCount()];
+        validActions = Arrays.copyOf(actions, state.validActions(actions));
+        children = new AtomicReferenceArray<>(validActions.length);
+        if(state.isTerminal()) {
+            scores = new double[numPlayers];
+            state.scoresInto(scores);
+        } else {
+            scores = null;
+        }
+        totalScores = new double[numPlayers];
+    }
+
+    @Override
+    public int visitCount() {
+        return visitCount;
+    }
+
+    @Override
+    public double totalScore(int activePlayer) {
+        return totalScores[activePlayer];
+    }
+
+    @Override
+    public int[] validActions() {
+        return validActions;
+    }
+
+    @Override
+    public int numBranches() {
+        return validActions.length;
+    }
+
+    @Override
+    public IntStateNode<STATE> getChild(int branch) {
+        return children.get(branch);
+    }
+
+    /**
+     * Create the child at {@code branch} if it doesn't already exist. This never locks; if two threads create the same
+     * child at once, only one of them is kept.
+     *
+     * @return The child at {@code branch}.
+     */
+    public IntStateNode<STATE> createChildIfNotPresent(int branch) {
+        final IntStateNode<STATE> child = children.get(branch);
+        if(child != null)
+            return child;
+
+        final IntStateNode<STATE> newChild = new IntStateNode<>(totalScores.length, state.copy().applyAction(validActions[branch]));
+        return children.compareAndSet(branch, null, newChild) ? newChild : children.get(branch);
+    }
+
+    /**
+     * @return The scores of this node's state, or null if it is not terminal. The returned array must not be modified.
+     */
+    public double[] scores() {
+        return scores;
+    }
+
+    /**
+     * @return True if this node's state is terminal.
+     */
+    public boolean isTerminal() {
+        return scores != null;
+    }
+
+    @Override
+    public ReadWriteLock statsLock() {
+        return statsLock;
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void updateScores(double[] scores) {
+        statsLock.writeLock().lock();
+
+        visitCount++;
+        for(int i = 0; i < scores.length; i++)
+            totalScores[i] += scores[i];
+
+        statsLock.writeLock().unlock();
+    }
+
+    /**
+     * @return The number of nodes in this tree.
+     */
+    public int numNodes() {
+        int num = 1;
+        for(int i = 0; i < children.length(); i++) {
+            final IntStateNode<STATE> child = children.get(i);
+            if(child != null)
+                num += child.numNodes();
+        }
+
+        return num;
+    }
+
+    @Override
+    public String toString() {
+        return "IntStateNode{" +
+                "visitCount=" + visitCount +
+                ", totalReward=" + Arrays.toString(totalScores) +
+                '}';
+    }
+}
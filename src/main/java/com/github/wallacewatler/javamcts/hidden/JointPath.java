@@ -0,0 +1,65 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The nodes that an iteration of MO-ISMCTS visits in every player's tree. The nodes of each step are stored together,
+ * one per player, in a single array that is reused between iterations, so backpropagation is one pass over it. Each
+ * worker thread has its own path.
+ */
+public final class JointPath {
+    private final int numPlayers;
+    private MoveSeqNode[] nodes;
+    private int size = 0;
+
+    /** The index of the first node of the latest complete step. */
+    private int current = 0;
+
+    public JointPath(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.nodes = new MoveSeqNode[16 * numPlayers];
+    }
+
+    /**
+     * Start a new path at {@code rootNodes}, where the node at i is the root of player i's tree.
+     */
+    public void start(ArrayList<MoveSeqNode> rootNodes) {
+        Arrays.fill(nodes, 0, size, null);
+        size = 0;
+        current = 0;
+        for(MoveSeqNode rootNode : rootNodes)
+            nodes[size++] = rootNode;
+    }
+
+    /**
+     * @return The node in {@code player}'s tree at the latest complete step.
+     */
+    public MoveSeqNode current(int player) {
+        return nodes[current + player];
+    }
+
+    /**
+     * Add the next node in each player's tree. Call this once per player, in order; the step is complete once every
+     * player's node has been added.
+     */
+    public void add(MoveSeqNode node) {
+        if(size == nodes.length)
+            nodes = Arrays.copyOf(nodes, 2 * size);
+        nodes[size++] = node;
+        if(size == current + 2 * numPlayers)
+            current += numPlayers;
+    }
+
+    /**
+     * Update every node on this path with {@code scores}, where the score at i is for player i. A node that stayed in
+     * place for hidden actions appears on several steps in a row and is only updated once.
+     */
+    public void backpropagate(double[] scores) {
+        for(int i = size - 1; i >= 0; i--) {
+            final MoveSeqNode node = nodes[i];
+            if(i < numPlayers || nodes[i - numPlayers] != node)
+                node.updateScore(scores[i % numPlayers]);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A fixed set of locks shared by the nodes of a search tree. A lock takes several times the memory of a small node's
+ * statistics, so nodes that would otherwise each have their own lock are given one of these at random instead. Nodes
+ * that share a lock only hold it for as long as an ordinary node would hold its own.
+ * <p>
+ * Only a tree searched by a single thread may use these. Selection holds a parent's lock while taking its children's,
+ * and with locks assigned at random, two threads could take the same pair of locks in opposite orders and deadlock
+ * once a writer queues behind either of them. Within one thread, a repeated lock is simply taken again.
+ */
+public final class LockStripes {
+    /** The number of locks in each set. */
+    private static final int COUNT = 64;
+
+    private final ReentrantReadWriteLock[] locks = new ReentrantReadWriteLock[COUNT];
+
+    public LockStripes() {
+        for(int i = 0; i < COUNT; i++)
+            locks[i] = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * @return One of the locks, chosen at random.
+     */
+    ReentrantReadWriteLock any() {
+        return locks[ThreadLocalRandom.current().nextInt(COUNT)];
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+/**
+ * Lookup tables for the square roots in the exploration terms of UCT and its variants. Selection evaluates these for
+ * every branch of every node it passes through, and the counts involved are almost always small, so most evaluations
+ * become a single array load. Counts past the end of the tables fall back to {@link Math}.
+ * <p>
+ * The table entries are computed with {@link Math}, so a lookup returns exactly what the direct computation would.
+ */
+final class LookupMath {
+    private static final int TABLE_SIZE = 4096;
+
+    private static final double[] SQRT_LOG = new double[TABLE_SIZE];
+    private static final double[] INV_SQRT = new double[TABLE_SIZE];
+
+    static {
+        for(int n = 0; n < TABLE_SIZE; n++) {
+            SQRT_LOG[n] = Math.sqrt(Math.log(n));
+            INV_SQRT[n] = 1 / Math.sqrt(n);
+        }
+    }
+
+    private LookupMath() {}
+
+    /**
+     * @param n a non-negative count
+     *
+     * @return The square root of the natural logarithm of {@code n}.
+     */
+    static double sqrtLog(int n) {
+        return n < TABLE_SIZE ? SQRT_LOG[n] : Math.sqrt(Math.log(n));
+    }
+
+    /**
+     * @param n a non-negative count
+     *
+     * @return 1 divided by the square root of {@code n}.
+     */
+    static double invSqrt(int n) {
+        return n < TABLE_SIZE ? INV_SQRT[n] : 1 / Math.sqrt(n);
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.ObservableAction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Identifies moves with integers so that MO-ISMCTS trees can be keyed by them. Actions that implement
+ * {@link ObservableAction#observeId} supply their own IDs. Otherwise, the move from {@link ObservableAction#observe} is
+ * interned: each distinct move is given a negative ID the first time it is seen, so interned IDs never collide with
+ * supplied ones. One instance is shared by all threads of a search.
+ */
+public final class MoveIds {
+    private final ConcurrentHashMap<Object, Integer> interned = new ConcurrentHashMap<>();
+    private final AtomicInteger internedCount = new AtomicInteger();
+
+    /**
+     * @return The ID of the move representing {@code action} from {@code observer}'s point of view.
+     */
+    public <STATE> int of(ObservableAction<STATE> action, STATE context, int observer) {
+        final int id = action.observeId(context, observer);
+        return id >= 0 ? id : intern(action.observe(context, observer));
+    }
+
+    private int intern(Object move) {
+        final Integer id = interned.get(move);
+        if(id != null)
+            return id;
+
+        return interned.computeIfAbsent(move, m -> -1 - internedCount.getAndIncrement());
+    }
+}
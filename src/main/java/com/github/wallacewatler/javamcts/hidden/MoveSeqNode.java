@@ -1,23 +1,49 @@
 package com.github.wallacewatler.javamcts.hidden;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Represents a distribution of states reached via a particular sequence of moves. Each move leading from a node maps to
  * a unique child node. Nodes of this type only pertain to a single player since moves themselves do as well.
+ * <p>
+ * Moves are identified by their IDs from {@link MoveIds}. Each move that has been available or selected from this node
+ * has a slot; the slots' moves and children are kept in small arrays that are scanned linearly, which is faster than
+ * hashing for the few moves a node usually has. Nodes of a tree searched by a single thread share their locks with
+ * other nodes of the same tree, since each player has a tree of their own and a lock per node would take most of the
+ * trees' memory. Nodes of a tree searched by several threads each have their own lock; see {@link LockStripes}.
  */
-public final class MoveSeqNode implements SearchNode<Object> {
-    private final ReentrantReadWriteLock statsLock = new ReentrantReadWriteLock();
-    private final ReentrantLock childCreationLock = new ReentrantLock();
-    private final ConcurrentHashMap<Object, MoveSeqNode> children = new ConcurrentHashMap<>();
+public final class MoveSeqNode implements SearchNode<Integer> {
+    private static final int[] NO_COUNTS = new int[0];
+
+    /** The locks shared with the rest of the tree, or null if each node has its own. */
+    private final LockStripes locks;
+    private final ReentrantReadWriteLock statsLock;
+
+    /** Replaced, never modified, whenever a slot or child is added, so it can be read without locking. */
+    private volatile Branches branches = Branches.EMPTY;
+
+    /** The available count of each slot; guarded by {@link #statsLock}. */
+    private int[] availableCounts = NO_COUNTS;
 
     private volatile int visitCount = 0;
-    private volatile int availableCount = 0;
     private volatile double totalScore = 0.0;
 
+    /** The sum of the squared scores in its only element, or null if the search doesn't use them. */
+    private final double[] totalSquaredScore;
+
+    /**
+     * @param locks the locks shared by the nodes of the trees this node belongs to, or null to give each node its own
+     *              lock; must be null if the trees are searched by more than one thread
+     * @param trackVariance whether to track squared scores in this node and its descendants
+     */
+    public MoveSeqNode(LockStripes locks, boolean trackVariance) {
+        this.locks = locks;
+        this.statsLock = locks == null ? new ReentrantReadWriteLock() : locks.any();
+        totalSquaredScore = trackVariance ? new double[1] : null;
+    }
+
     @Override
     public int visitCount() {
         return visitCount;
@@ -30,18 +56,53 @@ public final class MoveSeqNode implements SearchNode<Object> {
     }
 
     @Override
-    public MoveSeqNode getChild(Object move) {
-        return children.get(move);
+    public double totalSquaredScore(int activePlayer) {
+        // activePlayer is irrelevant for this type of node
+        return totalSquaredScore == null ? 0 : totalSquaredScore[0];
     }
 
     @Override
-    public int selectCount(Object move) {
-        return getChild(move).visitCount;
+    public MoveSeqNode getChild(Integer move) {
+        return getChild(move.intValue());
+    }
+
+    /**
+     * This does not lock.
+     *
+     * @return The child corresponding to {@code move}, or null if it doesn't exist.
+     */
+    public MoveSeqNode getChild(int move) {
+        final Branches branches = this.branches;
+        final int slot = branches.slotOf(move);
+        return slot < 0 ? null : branches.children[slot];
     }
 
     @Override
-    public int availableCount(Object move) {
-        return getChild(move).availableCount;
+    public int selectCount(Integer move) {
+        return selectCount(move.intValue());
+    }
+
+    /**
+     * @return The number of times {@code move} has been selected.
+     */
+    public int selectCount(int move) {
+        final MoveSeqNode child = getChild(move);
+        return child == null ? 0 : child.visitCount;
+    }
+
+    @Override
+    public int availableCount(Integer move) {
+        return availableCount(move.intValue());
+    }
+
+    /**
+     * The caller must hold the read lock of this node's {@link #statsLock()}.
+     *
+     * @return The number of times {@code move} has been available for selection.
+     */
+    public int availableCount(int move) {
+        final int slot = branches.slotOf(move);
+        return slot < 0 ? 0 : availableCounts[slot];
     }
 
     @Override
@@ -49,36 +110,81 @@ public final class MoveSeqNode implements SearchNode<Object> {
         return statsLock;
     }
 
-    public void createChildIfNotPresent(Object move) {
-        childCreationLock.lock();
+    /**
+     * Create the child for {@code move} if it doesn't already exist. This does not lock if the child exists.
+     *
+     * @return The child corresponding to {@code move}.
+     */
+    public MoveSeqNode createChildIfNotPresent(int move) {
+        final MoveSeqNode child = getChild(move);
+        if(child != null)
+            return child;
+
+        statsLock.writeLock().lock();
 
-        if(!children.containsKey(move))
-            children.put(move, new MoveSeqNode());
+        int slot = branches.slotOf(move);
+        if(slot < 0)
+            slot = addSlot(move);
+        MoveSeqNode newChild = branches.children[slot];
+        if(newChild == null) {
+            newChild = new MoveSeqNode(locks, totalSquaredScore != null);
+            final MoveSeqNode[] children = branches.children.clone();
+            children[slot] = newChild;
+            branches = new Branches(branches.moves, children);
+        }
 
-        childCreationLock.unlock();
+        statsLock.writeLock().unlock();
+        return newChild;
     }
 
-    @SuppressWarnings("NonAtomicOperationOnVolatileField")
-    public void incAvailableCount() {
+    /**
+     * Record that each of the first {@code count} moves in {@code moves} was available for selection from this node.
+     * Children are not created.
+     */
+    public void incAvailableCounts(int[] moves, int count) {
         statsLock.writeLock().lock();
-        availableCount++;
+
+        for(int i = 0; i < count; i++) {
+            int slot = branches.slotOf(moves[i]);
+            if(slot < 0)
+                slot = addSlot(moves[i]);
+            availableCounts[slot]++;
+        }
+
         statsLock.writeLock().unlock();
     }
 
+    /**
+     * Give {@code move} a slot with no child. The caller must hold the write lock of this node's {@link #statsLock()}.
+     *
+     * @return The new slot.
+     */
+    private int addSlot(int move) {
+        final int slot = branches.moves.length;
+        final int[] moves = Arrays.copyOf(branches.moves, slot + 1);
+        moves[slot] = move;
+        branches = new Branches(moves, Arrays.copyOf(branches.children, slot + 1));
+        availableCounts = Arrays.copyOf(availableCounts, slot + 1);
+        return slot;
+    }
+
     @SuppressWarnings("NonAtomicOperationOnVolatileField")
     public void updateScore(double score) {
         statsLock.writeLock().lock();
 
         visitCount++;
         totalScore += score;
+        if(totalSquaredScore != null)
+            totalSquaredScore[0] += score * score;
 
         statsLock.writeLock().unlock();
     }
 
     public int numNodes() {
         int num = 1;
-        for(MoveSeqNode child : children.values())
-            num += child.numNodes();
+        for(MoveSeqNode child : branches.children)
+            if(child != null)
+                num += child.numNodes();
 
         return num;
     }
@@ -87,8 +193,26 @@ public final class MoveSeqNode implements SearchNode<Object> {
     public String toString() {
         return "MoveSeqNode{" +
                 "visitCount=" + visitCount +
-                ", availableCount=" + availableCount +
+                ", moves=" + Arrays.toString(branches.moves) +
                 ", totalScore=" + totalScore +
                 '}';
     }
+
+    /**
+     * The moves that have a slot in a node and the child of each, which is null until the move is selected.
+     */
+    private record Branches(int[] moves, MoveSeqNode[] children) {
+        static final Branches EMPTY = new Branches(new int[0], new MoveSeqNode[0]);
+
+        /**
+         * @return The slot of {@code move}, or -1 if it doesn't have one.
+         */
+        int slotOf(int move) {
+            for(int i = 0; i < moves.length; i++)
+                if(moves[i] == move)
+                    return i;
+
+            return -1;
+        }
+    }
 }
@@ -0,0 +1,162 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.PackedGame;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A node in a search tree that represents a particular game state packed into {@code long} words. Branches are
+ * identified by their index in {@link #validActions()}, and children are stored in an array at the same index.
+ */
+public final class PackedNode implements IntSearchNode {
+    private final ReentrantReadWriteLock statsLock = new ReentrantReadWriteLock();
+    private final AtomicReferenceArray<PackedNode> children;
+
+    /** The words of this node's state. These must not be modified. */
+    final long[] state;
+
+    /** Cached from {@link #state} since the state of a node never changes. */
+    private final int activePlayer;
+
+    /** The valid actions from {@link #state}. */
+    private final int[] validActions;
+
+    /** Cached from {@link #state}; null if the state is not terminal. */
+    private final double[] scores;
+
+    private volatile int visitCount = 0;
+    private final double[] totalScores;
+
+    /**
+     * @param state the words of this node's state; the node takes ownership of the array
+     */
+    public PackedNode(int numPlayers, PackedGame game, long[] state) {
+        this.state = state;
+        activePlayer = game.activePlayer(state);
+        final int[] actions = new int[game.actionCount()];
+        validActions = Arrays.copyOf(actions, game.validActions(state, actions));
+        children = new AtomicReferenceArray<>(validActions.length);
+        if(game.isTerminal(state)) {
+            scores = new double[numPlayers];
+            game.scoresInto(state, scores);
+        } else {
+            scores = null;
+        }
+        totalScores = new double[numPlayers];
+    }
+
+    @Override
+    public int visitCount() {
+        return visitCount;
+    }
+
+    @Override
+    public double totalScore(int activePlayer) {
+        return totalScores[activePlayer];
+    }
+
+    @Override
+    public int[] validActions() {
+        return validActions;
+    }
+
+    @Override
+    public int numBranches() {
+        return validActions.length;
+    }
+
+    @Override
+    public PackedNode getChild(int branch) {
+        return children.get(branch);
+    }
+
+    @Override
+    public ReadWriteLock statsLock() {
+        return statsLock;
+    }
+
+    /**
+     * @return The player who needs to do an action in this node's state.
+     */
+    public int activePlayer() {
+        return activePlayer;
+    }
+
+    /**
+     * Copy this node's state into {@code out}.
+     */
+    public void copyStateInto(long[] out) {
+        System.arraycopy(state, 0, out, 0, state.length);
+    }
+
+    /**
+     * Create the child at {@code branch} if it doesn't already exist. If {@code table} is not null, the child is
+     * shared with any other node leading to the same state.
+     *
+     * @param table a transposition table, or null if none is used
+     *
+     * @return The child at {@code branch}.
+     */
+    public PackedNode createChildIfNotPresent(int branch, PackedGame game, PackedTable table) {
+        final PackedNode child = children.get(branch);
+        if(child != null)
+            return child;
+
+        final long[] childState = Arrays.copyOf(state, state.length);
+        game.applyAction(childState, validActions[branch]);
+        final PackedNode newChild = table == null
+                ? new PackedNode(totalScores.length, game, childState)
+                : table.getOrCreate(totalScores.length, game, childState);
+        return children.compareAndSet(branch, null, newChild) ? newChild : children.get(branch);
+    }
+
+    /**
+     * @return The scores of this node's state, or null if it is not terminal. The returned array must not be modified.
+     */
+    public double[] scores() {
+        return scores;
+    }
+
+    /**
+     * @return True if this node's state is terminal.
+     */
+    public boolean isTerminal() {
+        return scores != null;
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void updateScores(double[] scores) {
+        statsLock.writeLock().lock();
+
+        visitCount++;
+        for(int i = 0; i < scores.length; i++)
+            totalScores[i] += scores[i];
+
+        statsLock.writeLock().unlock();
+    }
+
+    /**
+     * @return The number of nodes in this tree.
+     */
+    public int numNodes() {
+        int num = 1;
+        for(int i = 0; i < children.length(); i++) {
+            final PackedNode child = children.get(i);
+            if(child != null)
+                num += child.numNodes();
+        }
+
+        return num;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedNode{" +
+                "visitCount=" + visitCount +
+                ", totalReward=" + Arrays.toString(totalScores) +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.PackedGame;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A transposition table for packed states. States are keyed by their words, wrapped in a key that caches a hash mixed
+ * for bitboards so that most mismatches are rejected without comparing words.
+ * <p>
+ * The table is a {@link ConcurrentHashMap}, and nodes are built outside of it, so threads sharing a table never wait on
+ * each other to expand the tree. This matches {@link RealTable}.
+ */
+public final class PackedTable {
+    private final ConcurrentHashMap<Key, PackedNode> table = new ConcurrentHashMap<>();
+
+    /**
+     * Look up the node for {@code state}, creating and inserting it if it isn't present. If several threads create the
+     * same node at once, they all get whichever node was inserted first.
+     *
+     * @param state the words of a state; if a node is created, it takes ownership of the array
+     *
+     * @return The node that represents {@code state}.
+     */
+    public PackedNode getOrCreate(int numPlayers, PackedGame game, long[] state) {
+        final Key key = new Key(state);
+        final PackedNode node = table.get(key);
+        if(node != null)
+            return node;
+
+        final PackedNode newNode = new PackedNode(numPlayers, game, state);
+        final PackedNode existing = table.putIfAbsent(key, newNode);
+        return existing == null ? newNode : existing;
+    }
+
+    /**
+     * @return The number of states in this table.
+     */
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public String toString() {
+        return "size = " + size();
+    }
+
+    /**
+     * The words of a state, compared by value.
+     */
+    private static final class Key {
+        private final long[] words;
+        private final int hash;
+
+        private Key(long[] words) {
+            this.words = words;
+            hash = hash(words);
+        }
+
+        /**
+         * Mix the words of a state into a well-distributed hash. Bitboards tend to differ in only a few bits, so each
+         * word is multiplied by a large odd constant before the halves of the result are folded together.
+         */
+        private static int hash(long[] words) {
+            long h = 0;
+            for(long word : words)
+                h = (h ^ word) * 0x9E3779B97F4A7C15L;
+
+            h ^= h >>> 32;
+            return (int) (h ^ (h >>> 16));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) return true;
+            return o instanceof Key key && hash == key.hash && Arrays.equals(words, key.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
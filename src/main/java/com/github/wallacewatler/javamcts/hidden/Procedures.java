@@ -5,28 +5,248 @@ import com.github.wallacewatler.javamcts.*;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.ToDoubleFunction;
 
 /** Procedures that don't belong to any one class. */
 public final class Procedures {
+    private static final double SQRT_2 = Math.sqrt(2);
+
+    /** Whether each class of state overrides {@link State#prior}, so that PUCT can skip the default's cost otherwise. */
+    private static final ClassValue<Boolean> OVERRIDES_PRIOR = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("prior", Object.class).getDeclaringClass() != State.class;
+            } catch(NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     /**
-     * Do an iteration of MCTS.
+     * Do an iteration of MCTS. {@code scoreBuffer} is scratch space with one element per player; it can be reused
+     * between iterations done by the same thread.
+     * <p>
+     * This also acts as an MCTS-Solver: selection stops at nodes whose outcome is proven, their proven scores are
+     * backpropagated instead of simulating, and the ancestors of a proven node are proven in turn where possible.
+     *
+     * @param widening progressive widening parameters, or null to consider every valid action
+     * @param amaf this thread's AMAF recorder, or null if RAVE isn't used
+     *
+     * @return False if the root is proven, in which case there is nothing left to search.
      */
     public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
-    void iterMCTS(StateNode<STATE, ACTION> rootNode, UCT uct, Random rand, TranspositionTable<STATE, ACTION> table) {
+    boolean iterMCTS(StateNode<STATE, ACTION> rootNode, SelectionPolicy policy, ProgressiveWidening widening, Random rand, TranspositionTable<STATE, ACTION> table, double[] scoreBuffer, AmafRecorder amaf) {
         // Stores the path of traversal through the search tree
         final ArrayDeque<StateNode<STATE, ACTION>> nodePath = new ArrayDeque<>();
+        final RAVE rave = amaf == null ? null : amaf.rave();
+        if(amaf != null)
+            amaf.clear();
 
         StateNode<STATE, ACTION> currentNode = rootNode;
         nodePath.add(currentNode);
 
         // Selection and Expansion - Select child nodes using UCT, expanding where necessary.
         boolean continueSelection = true;
-        while(currentNode.scores() == null && continueSelection) {
-            final ACTION selectedAction = uctSelection(currentNode, currentNode.validActions(), currentNode.state.activePlayer(), uct, rand);
+        while(!currentNode.isProven() && continueSelection) {
+            final List<ACTION> eligibleActions = eligibleActions(currentNode.validActions(), currentNode.visitCount(), widening);
+            final ACTION selectedAction = select(currentNode, eligibleActions, policy, rave, rand);
+            if(amaf != null)
+                amaf.record(currentNode.state.activePlayer(), selectedAction);
+
+            final StateNode<STATE, ACTION> selectedChild = currentNode.createChildIfNotPresent(selectedAction, table);
+
+            if(selectedChild.visitCount() == 0)
+                continueSelection = false;
+
+            currentNode = selectedChild;
+            nodePath.add(currentNode);
+        }
+
+        // Simulation - Choose a random action until the game is decided.
+        final double[] scores;
+        if(currentNode.isProven()) {
+            scores = currentNode.provenScores();
+        } else {
+            STATE simulatedState = currentNode.state.copy();
+            while(!simulatedState.isTerminal()) {
+                final ACTION action = simulatedState.randomAction(rand);
+                if(amaf != null)
+                    amaf.record(simulatedState.activePlayer(), action);
+                simulatedState = action.applyToState(simulatedState);
+            }
+            simulatedState.scoresInto(scoreBuffer);
+            scores = scoreBuffer;
+        }
+
+        // Backpropagation - Update all nodes that were selected with the results of simulation. If the leaf is proven,
+        // try to prove its ancestors until one can't be. With RAVE, the node at depth d is credited with the actions
+        // recorded from index d onward, which are the ones done from it or later.
+        boolean proving = currentNode.isProven();
+        while(!nodePath.isEmpty()) {
+            final StateNode<STATE, ACTION> node = nodePath.removeLast();
+            node.updateScores(scores);
+            if(amaf != null && !node.isTerminal()) {
+                final int player = node.state.activePlayer();
+                node.updateAmaf(amaf, nodePath.size(), player, scores[player]);
+            }
+            proving = proving && node.tryProve();
+        }
+
+        return !rootNode.isProven();
+    }
+
+    /**
+     * Do an iteration of MCTS on a two-player zero-sum game. {@code scoreBuffer} is scratch space with two elements; it
+     * can be reused between iterations done by the same thread.
+     *
+     * @param table a transposition table, or null if none is used
+     */
+    public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    void iterZeroSumMCTS(ZeroSumNode<STATE, ACTION> rootNode, UCT uct, Random rand, Map<STATE, ZeroSumNode<STATE, ACTION>> table, double[] scoreBuffer) {
+        // Stores the path of traversal through the search tree
+        final ArrayDeque<ZeroSumNode<STATE, ACTION>> nodePath = new ArrayDeque<>();
+
+        ZeroSumNode<STATE, ACTION> currentNode = rootNode;
+        nodePath.add(currentNode);
+
+        // Selection and Expansion - Select child nodes using UCT, expanding where necessary.
+        boolean continueSelection = true;
+        while(!currentNode.isTerminal() && continueSelection) {
+            final ACTION selectedAction = uctSelection(currentNode, uct, rand);
+            final ZeroSumNode<STATE, ACTION> selectedChild = currentNode.createChildIfNotPresent(selectedAction, table, scoreBuffer);
+
+            if(selectedChild.visitCount() == 0)
+                continueSelection = false;
+
+            currentNode = selectedChild;
+            nodePath.add(currentNode);
+        }
+
+        // Simulation - Choose a random action until the game is decided.
+        final double value;
+        if(currentNode.isTerminal()) {
+            value = currentNode.value();
+        } else {
+            STATE simulatedState = currentNode.state.copy();
+            while(!simulatedState.isTerminal())
+                simulatedState = simulatedState.randomAction(rand).applyToState(simulatedState);
+
+            simulatedState.scoresInto(scoreBuffer);
+            value = ZeroSumNode.valueOf(scoreBuffer);
+        }
+
+        // Backpropagation - Every node stores its value from player 0's point of view, so the same value is added to
+        // all of them; the sign is flipped for player 1 during selection instead.
+        while(!nodePath.isEmpty())
+            nodePath.removeLast().updateValue(value);
+    }
+
+    /**
+     * Do an iteration of single-player MCTS. {@code scoreBuffer} is scratch space with one element, and
+     * {@code trajectory} is scratch space for the actions taken during the iteration; both can be reused between
+     * iterations done by the same thread.
+     *
+     * @param table a transposition table, or null if none is used
+     * @param scoreBound an upper bound on the score reachable from a state, or null to disable pruning
+     * @param best the best sequence found so far, shared between threads
+     *
+     * @return False if every branch from the root has been pruned or fully searched, in which case there is nothing left
+     * to search.
+     */
+    public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    boolean iterSPMCTS(SPNode<STATE, ACTION> rootNode, UCT uct, Random rand, Map<STATE, SPNode<STATE, ACTION>> table,
+                       ToDoubleFunction<? super STATE> scoreBound, BestSequence<ACTION> best, double[] scoreBuffer,
+                       ArrayList<ACTION> trajectory) {
+        // Stores the path of traversal through the search tree
+        final ArrayDeque<SPNode<STATE, ACTION>> nodePath = new ArrayDeque<>();
+        trajectory.clear();
+
+        SPNode<STATE, ACTION> currentNode = rootNode;
+        nodePath.add(currentNode);
+
+        // Selection and Expansion - Select child nodes using UCT, expanding where necessary.
+        boolean continueSelection = true;
+        while(!currentNode.isTerminal() && continueSelection) {
+            final ACTION selectedAction = uctSelection(currentNode, uct, rand, scoreBound == null ? Double.NaN : best.score());
+            if(selectedAction == null) {
+                // Every branch is pruned or fully searched; make sure the parent doesn't select this node again.
+                currentNode.markExhausted();
+                return currentNode != rootNode;
+            }
 
-            currentNode.createChildIfNotPresent(selectedAction, table);
-            final StateNode<STATE, ACTION> selectedChild = currentNode.getChild(selectedAction);
+            final SPNode<STATE, ACTION> selectedChild = currentNode.createChildIfNotPresent(selectedAction, table, scoreBound, scoreBuffer);
+            trajectory.add(selectedAction);
+
+            if(selectedChild.visitCount() == 0)
+                continueSelection = false;
+
+            currentNode = selectedChild;
+            nodePath.add(currentNode);
+        }
+
+        // Simulation - Choose a random action until the game is decided, or until the bound shows that it can't beat the
+        // best score. A simulation cut short counts as scoring its bound.
+        final double score;
+        boolean cutShort = false;
+        if(currentNode.isTerminal()) {
+            score = currentNode.score();
+        } else {
+            STATE simulatedState = currentNode.state.copy();
+            double bound = Double.POSITIVE_INFINITY;
+            while(!simulatedState.isTerminal()) {
+                if(scoreBound != null && (bound = scoreBound.applyAsDouble(simulatedState)) <= best.score()) {
+                    cutShort = true;
+                    break;
+                }
+
+                final ACTION action = simulatedState.randomAction(rand);
+                trajectory.add(action);
+                simulatedState = action.applyToState(simulatedState);
+            }
+
+            if(cutShort) {
+                score = bound;
+            } else {
+                simulatedState.scoresInto(scoreBuffer);
+                score = scoreBuffer[0];
+            }
+        }
+
+        if(!cutShort)
+            best.offer(score, trajectory);
+
+        // The game is deterministic, so visiting a terminal state again would teach nothing new.
+        if(currentNode.isTerminal())
+            currentNode.markExhausted();
+
+        // Backpropagation - Update all nodes that were selected with the results of simulation.
+        while(!nodePath.isEmpty())
+            nodePath.removeLast().updateScore(score);
+
+        return true;
+    }
+
+    /**
+     * Do an iteration of MCTS on states with integer-encoded actions. {@code scoreBuffer} is scratch space with one
+     * element per player, and {@code actionBuffer} is scratch space with one element per action in the game; both can
+     * be reused between iterations done by the same thread.
+     */
+    public static <STATE extends IntActionState<STATE>>
+    void iterIntMCTS(IntStateNode<STATE> rootNode, UCT uct, Random rand, double[] scoreBuffer, int[] actionBuffer) {
+        // Stores the path of traversal through the search tree
+        final ArrayDeque<IntStateNode<STATE>> nodePath = new ArrayDeque<>();
+
+        IntStateNode<STATE> currentNode = rootNode;
+        nodePath.add(currentNode);
+
+        // Selection and Expansion - Select child nodes using UCT, expanding where necessary.
+        boolean continueSelection = true;
+        while(!currentNode.isTerminal() && continueSelection) {
+            final int selectedBranch = uctSelection(currentNode, currentNode.state.activePlayer(), uct, rand);
+            final IntStateNode<STATE> selectedChild = currentNode.createChildIfNotPresent(selectedBranch);
 
             if(selectedChild.visitCount() == 0)
                 continueSelection = false;
@@ -36,156 +256,507 @@ public final class Procedures {
         }
 
         // Simulation - Choose a random action until the game is decided.
-        STATE simulatedState = currentNode.state.copy();
-        while(simulatedState.scores() == null) {
-            final List<ACTION> validActions = simulatedState.validActions();
-            final ACTION action = validActions.get(rand.nextInt(validActions.size()));
-            simulatedState = action.applyToState(simulatedState);
+        final double[] scores;
+        if(currentNode.isTerminal()) {
+            scores = currentNode.scores();
+        } else {
+            STATE simulatedState = currentNode.state.copy();
+            while(!simulatedState.isTerminal())
+                simulatedState = simulatedState.applyAction(simulatedState.randomAction(rand, actionBuffer));
+
+            simulatedState.scoresInto(scoreBuffer);
+            scores = scoreBuffer;
         }
 
         // Backpropagation - Update all nodes that were selected with the results of simulation.
-        final double[] scores = simulatedState.scores();
         while(!nodePath.isEmpty())
             nodePath.removeLast().updateScores(scores);
     }
 
     /**
-     * Do an iteration of OLMCTS.
+     * Do an iteration of MCTS on packed states. {@code scoreBuffer}, {@code actionBuffer}, and {@code stateBuffer} are
+     * scratch space with one element per player, action, and state word, respectively; they can be reused between
+     * iterations done by the same thread.
+     *
+     * @param table a transposition table, or null if none is used
+     */
+    public static void iterPackedMCTS(PackedNode rootNode, PackedGame game, UCT uct, Random rand, PackedTable table,
+                                      double[] scoreBuffer, int[] actionBuffer, long[] stateBuffer) {
+        // Stores the path of traversal through the search tree
+        final ArrayDeque<PackedNode> nodePath = new ArrayDeque<>();
+
+        PackedNode currentNode = rootNode;
+        nodePath.add(currentNode);
+
+        // Selection and Expansion - Select child nodes using UCT, expanding where necessary.
+        boolean continueSelection = true;
+        while(!currentNode.isTerminal() && continueSelection) {
+            final int selectedBranch = uctSelection(currentNode, currentNode.activePlayer(), uct, rand);
+            final PackedNode selectedChild = currentNode.createChildIfNotPresent(selectedBranch, game, table);
+
+            if(selectedChild.visitCount() == 0)
+                continueSelection = false;
+
+            currentNode = selectedChild;
+            nodePath.add(currentNode);
+        }
+
+        // Simulation - Choose a random action until the game is decided, mutating the state buffer in place.
+        final double[] scores;
+        if(currentNode.isTerminal()) {
+            scores = currentNode.scores();
+        } else {
+            currentNode.copyStateInto(stateBuffer);
+            while(!game.isTerminal(stateBuffer))
+                game.applyAction(stateBuffer, game.randomAction(stateBuffer, rand, actionBuffer));
+
+            game.scoresInto(stateBuffer, scoreBuffer);
+            scores = scoreBuffer;
+        }
+
+        // Backpropagation - Update all nodes that were selected with the results of simulation.
+        while(!nodePath.isEmpty())
+            nodePath.removeLast().updateScores(scores);
+    }
+
+    /**
+     * Do an iteration of OLMCTS. {@code scoreBuffer} is scratch space with one element per player.
+     *
+     * @param widening progressive widening parameters, or null to consider every valid action
+     * @param amaf this thread's AMAF recorder, or null if RAVE isn't used
      */
     public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends StochasticAction<STATE>>
-    void iterOLMCTS(STATE rootState, ActionSeqNode rootNode, UCT uct, Random rand) {
+    void iterOLMCTS(STATE rootState, ActionSeqNode rootNode, SelectionPolicy policy, ProgressiveWidening widening, Random rand, double[] scoreBuffer, AmafRecorder amaf) {
         final STATE simulatedState = rootState.copy();
-        iterActionSeq(simulatedState, rootNode, uct, rand);
+        iterActionSeq(simulatedState, rootNode, policy, widening, rand, scoreBuffer, amaf);
     }
 
     /**
-     * Do an iteration of ISMCTS.
+     * Do an iteration of ISMCTS. {@code scoreBuffer} is scratch space with one element per player.
+     *
+     * @param determinizer this thread's source of determinizations of the searching player's information set
+     * @param widening progressive widening parameters, or null to consider every valid action
+     * @param amaf this thread's AMAF recorder, or null if RAVE isn't used
      */
     public static <STATE extends State<ACTION>, ACTION extends StochasticAction<STATE>>
-    void iterISMCTS(InfoSet<STATE, ACTION> infoSet, ActionSeqNode rootNode, UCT uct, Random rand) {
+    void iterISMCTS(Determinizer<STATE, ACTION> determinizer, ActionSeqNode rootNode, SelectionPolicy policy, ProgressiveWidening widening, Random rand, double[] scoreBuffer, AmafRecorder amaf) {
         // Choose a randomly determinized state consistent with the information set of the player searching the tree.
-        final STATE simulatedState = infoSet.determinize(rand);
-        iterActionSeq(simulatedState, rootNode, uct, rand);
+        final STATE simulatedState = determinizer.next();
+        iterActionSeq(simulatedState, rootNode, policy, widening, rand, scoreBuffer, amaf);
     }
 
     /**
-     * Do an iteration of MO-ISMCTS.
+     * Do an iteration of MO-ISMCTS. {@code scoreBuffer} is scratch space with one element per player.
+     *
+     * @param determinizer this thread's source of determinizations of the searching player's information set
+     * @param path this thread's record of the nodes visited in every player's tree
+     * @param activeMoves this thread's view of the active player's nodes
+     * @param widening progressive widening parameters, or null to consider every valid action
      */
     public static <STATE extends State<ACTION>, ACTION extends ObservableAction<STATE>>
-    void iterMOISMCTS(InfoSet<STATE, ACTION> infoSet, ArrayList<MoveSeqNode> rootNodes, UCT uct, Random rand) {
-        /*
-        Stores the path of traversal through each player's search tree. The first element of the outer list is the root
-        nodes, the second element is the nodes one level down, etc.
-         */
-        final ArrayDeque<ArrayList<MoveSeqNode>> nodeLevels = new ArrayDeque<>();
-        nodeLevels.add(rootNodes);
-
-        // The node at i is the current node in player i's tree.
-        ArrayList<MoveSeqNode> currentNodes = rootNodes;
+    void iterMOISMCTS(Determinizer<STATE, ACTION> determinizer, ArrayList<MoveSeqNode> rootNodes, JointPath path, ActiveMoves<STATE, ACTION> activeMoves, SelectionPolicy policy, ProgressiveWidening widening, Random rand, double[] scoreBuffer) {
+        // Stores the path of traversal through each player's search tree.
+        path.start(rootNodes);
+        final int numPlayers = rootNodes.size();
 
         // Current node in the tree of the active player
-        MoveSeqNode activeNode = currentNodes.get(infoSet.owner());
+        MoveSeqNode activeNode = path.current(determinizer.infoSet().owner());
 
         // Choose a random determinized state consistent with the information set of the player searching the tree.
-        STATE simulatedState = infoSet.determinize(rand);
-
-        // These are singleton moves from the POV of the active player.
-        List<ACTION> validActions = simulatedState.validActions();
-        int activePlayer = simulatedState.activePlayer();
+        STATE simulatedState = determinizer.next();
 
         // Selection and Expansion - Select child nodes using UCT, expanding where necessary.
         boolean continueSelection = true;
-        while(simulatedState.scores() == null && continueSelection) {
-            final ACTION selectedAction = uctSelection(activeNode, validActions, activePlayer, uct, rand);
+        while(!simulatedState.isTerminal() && continueSelection) {
+            // These are singleton moves from the POV of the active player.
+            final List<ACTION> eligibleActions = eligibleActions(simulatedState.validActions(), activeNode.visitCount(), widening);
+            activeMoves.reset(activeNode, simulatedState, eligibleActions);
+            final ACTION selectedAction = select(activeMoves, simulatedState, eligibleActions, policy, null, rand);
 
-            for(ACTION action : validActions) {
-                activeNode.createChildIfNotPresent(action);
-                activeNode.getChild(action).incAvailableCount();
-            }
+            activeNode.incAvailableCounts(activeMoves.ids(), eligibleActions.size());
 
-            final MoveSeqNode selectedChild = activeNode.getChild(selectedAction);
-            if(selectedChild.visitCount() == 0)
+            final int selectedMove = activeMoves.idOf(selectedAction);
+            final MoveSeqNode selectedChild = activeNode.getChild(selectedMove);
+            if(selectedChild == null || selectedChild.visitCount() == 0)
                 continueSelection = false;
 
             // Use the selected action to descend through each player's tree.
-            final ArrayList<MoveSeqNode> nextLevel = new ArrayList<>(currentNodes.size());
-            nodeLevels.add(nextLevel);
-            for(int pov = 0; pov < currentNodes.size(); pov++) {
-                final Object move = selectedAction.observe(simulatedState, pov);
-                final MoveSeqNode node = currentNodes.get(pov);
-                node.createChildIfNotPresent(move);
-                nextLevel.add(node.getChild(move));
+            final int activePlayer = simulatedState.activePlayer();
+            for(int pov = 0; pov < numPlayers; pov++) {
+                final MoveSeqNode node = path.current(pov);
+                if(pov != activePlayer && selectedAction.isHiddenFrom(simulatedState, pov)) {
+                    // The observer can't tell this action from any other, so their tree stays where it is.
+                    path.add(node);
+                } else {
+                    final int move = pov == activePlayer ? selectedMove : activeMoves.moveIds().of(selectedAction, simulatedState, pov);
+                    path.add(node.createChildIfNotPresent(move));
+                }
             }
-            currentNodes = nextLevel;
 
             // Set up for next selection
             simulatedState = selectedAction.applyToState(simulatedState, rand);
-            validActions = simulatedState.validActions();
-            activePlayer = simulatedState.activePlayer();
-            activeNode = currentNodes.get(simulatedState.activePlayer());
+            activeNode = path.current(simulatedState.activePlayer());
         }
 
         // Simulation - Choose a random action until the game is decided.
-        while(simulatedState.scores() == null) {
-            final ACTION action = validActions.get(rand.nextInt(validActions.size()));
-            simulatedState = action.applyToState(simulatedState, rand);
-            validActions = simulatedState.validActions();
-        }
+        while(!simulatedState.isTerminal())
+            simulatedState = simulatedState.randomAction(rand).applyToState(simulatedState, rand);
 
         // Backpropagation - Update all nodes that were selected with the results of simulation.
-        final double[] scores = simulatedState.scores();
-        while(!nodeLevels.isEmpty()) {
-            final ArrayList<MoveSeqNode> nodeLevel = nodeLevels.removeLast();
-            for(int pov = 0; pov < nodeLevel.size(); pov++)
-                nodeLevel.get(pov).updateScore(scores[pov]);
-        }
+        simulatedState.scoresInto(scoreBuffer);
+        path.backpropagate(scoreBuffer);
+    }
+
+    /**
+     * @param actions the valid actions from a node, in the order they become eligible
+     * @param visits the number of times the node has been visited
+     * @param widening progressive widening parameters, or null to consider every valid action
+     *
+     * @return The actions eligible for selection from the node.
+     */
+    private static <ACTION> List<ACTION> eligibleActions(List<ACTION> actions, int visits, ProgressiveWidening widening) {
+        if(widening == null)
+            return actions;
+
+        final int count = widening.eligibleCount(visits);
+        return count >= actions.size() ? actions : actions.subList(0, count);
+    }
+
+    /**
+     * Check that {@code params} only asks for what a search limited to plain UCT supports.
+     *
+     * @param params the search parameters
+     * @param algorithm the name of the search algorithm, for the exception message
+     *
+     * @return The UCT policy to select branches with.
+     *
+     * @throws IllegalArgumentException if {@code params} has a selection policy other than UCT, RAVE, or progressive
+     * widening
+     */
+    public static UCT requireUct(SearchParameters params, String algorithm) {
+        if(!(params.selectionPolicy() instanceof UCT uct))
+            throw new IllegalArgumentException(algorithm + " only supports UCT selection, not " + params.selectionPolicy());
+        if(params.rave() != null)
+            throw new IllegalArgumentException(algorithm + " does not support RAVE");
+        if(params.progressiveWidening() != null)
+            throw new IllegalArgumentException(algorithm + " does not support progressive widening");
+
+        return uct;
     }
 
     /**
-     * Select a branch from a node using UCT.
+     * @param policy a selection policy
+     *
+     * @return True if {@code policy} estimates the variance of scores, so that nodes need to track squared scores.
+     */
+    public static boolean usesVariance(SelectionPolicy policy) {
+        return policy instanceof UCB1Tuned || policy instanceof ThompsonSampling;
+    }
+
+    /**
+     * Select an action from a node using {@code policy}. Each policy has its own selection loop, so which policy is in use
+     * is only checked once per call rather than once per branch.
+     *
+     * @param parent a node from which to select an action
+     * @param state the state from which the action will be done
+     * @param actions the valid actions from {@code state}
+     * @param policy the selection policy
+     * @param rave RAVE parameters, or null to not use RAVE; this is ignored unless {@code policy} is a {@link UCT}
+     * @param rand a source of randomness
+     *
+     * @return The selected action.
+     *
+     * @param <ACTION> the type of actions in the game
+     */
+    public static <ACTION> ACTION select(SearchNode<? super ACTION> parent, State<ACTION> state, List<ACTION> actions, SelectionPolicy policy, RAVE rave, Random rand) {
+        if(policy instanceof UCT uct)
+            return uctSelection(parent, actions, state.activePlayer(), uct, rave, rand);
+
+        if(parent.visitCount() == 0)
+            return actions.get(rand.nextInt(actions.size()));
+
+        if(policy instanceof UCB1Tuned ucb1Tuned)
+            return ucb1TunedSelection(parent, actions, state.activePlayer(), ucb1Tuned, rand);
+        if(policy instanceof PUCT puct)
+            return puctSelection(parent, state, actions, puct, rand);
+        if(policy instanceof ThompsonSampling thompsonSampling)
+            return thompsonSelection(parent, actions, state.activePlayer(), thompsonSampling, rand);
+        return epsilonGreedySelection(parent, actions, state.activePlayer(), (EpsilonGreedy) policy, rand);
+    }
+
+    /**
+     * Select an action from a state node using {@code policy}. Children that are proven to be worse than another proven
+     * child are skipped.
+     *
+     * @param parent a node from which to select an action
+     * @param actions the actions eligible for selection, which are some or all of {@code parent.validActions()}
+     * @param policy the selection policy
+     * @param rave RAVE parameters, or null to not use RAVE; this is ignored unless {@code policy} is a {@link UCT}
+     * @param rand a source of randomness
+     *
+     * @return The selected action.
+     */
+    public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    ACTION select(StateNode<STATE, ACTION> parent, List<ACTION> actions, SelectionPolicy policy, RAVE rave, Random rand) {
+        if(policy instanceof UCT uct)
+            return uctSelection(parent, actions, uct, rave, rand);
+
+        return select(parent, parent.state, actions, policy, null, rand);
+    }
+
+    /**
+     * Select a branch from a node using UCT, blending in the node's AMAF statistics if {@code rave} is not null.
      *
      * @param parent a node from which to select a branch
      * @param branches the available branches
      * @param activePlayer the player for whom to consider node scores
      * @param uct UCT parameters
+     * @param rave RAVE parameters, or null to not use RAVE
      * @param rand a source of randomness
      *
      * @return A branch selected by UCT.
      *
      * @param <BRANCH> the type of connections between nodes
      */
-    public static <BRANCH> BRANCH uctSelection(SearchNode<? super BRANCH> parent, List<BRANCH> branches, int activePlayer, UCT uct, Random rand) {
+    public static <BRANCH> BRANCH uctSelection(SearchNode<? super BRANCH> parent, List<BRANCH> branches, int activePlayer, UCT uct, RAVE rave, Random rand) {
         if(parent.visitCount() == 0)
             return branches.get(rand.nextInt(branches.size()));
 
-        final ArrayList<BRANCH> maxBranches = new ArrayList<>();
+        final double explorationParam = uct.explorationParam();
+        BRANCH maxBranch = null;
+        int numMaxBranches = 0;
         double maxUctValue = Double.NEGATIVE_INFINITY;
 
         parent.statsLock().readLock().lock();
         for(BRANCH branch : branches) {
-            final SearchNode<? super BRANCH> child = parent.getChild(branch);
+            final SearchNode<?> child = parent.getChild(branch);
+            // Each branch has its own available count, so the log term can't be hoisted out of the loop as it is for
+            // state nodes. It comes from a lookup table instead.
+            final int availableCount = parent.availableCount(branch);
             final double uctValue;
-            if(child == null || child.visitCount() == 0 || parent.availableCount(branch) == 0 || parent.selectCount(branch) == 0) {
-                uctValue = uct.favorUnexplored() ? Double.POSITIVE_INFINITY : (parent.totalScore(activePlayer) / parent.visitCount());
+            final int amafCount = rave == null ? 0 : parent.amafCount(branch);
+            if(child == null || child.visitCount() == 0 || availableCount == 0 || parent.selectCount(branch) == 0) {
+                // With RAVE, an unexplored branch is judged by its AMAF statistics alone if it has any.
+                if(amafCount > 0)
+                    uctValue = parent.amafScore(branch) / amafCount + explorationParam * LookupMath.sqrtLog(Math.max(availableCount, 1));
+                else
+                    uctValue = uct.favorUnexplored() ? Double.POSITIVE_INFINITY : (parent.totalScore(activePlayer) / parent.visitCount());
             } else {
                 child.statsLock().readLock().lock();
-                final double exploitation = child.totalScore(activePlayer) / child.visitCount();
-                final double exploration = uct.explorationParam() * Math.sqrt(Math.log(parent.availableCount(branch)) / parent.selectCount(branch));
+                double exploitation = child.totalScore(activePlayer) / child.visitCount();
+                if(amafCount > 0) {
+                    final double beta = rave.beta(child.visitCount());
+                    exploitation = (1 - beta) * exploitation + beta * parent.amafScore(branch) / amafCount;
+                }
+                final double exploration = explorationParam * LookupMath.sqrtLog(availableCount) * LookupMath.invSqrt(parent.selectCount(branch));
                 child.statsLock().readLock().unlock();
                 uctValue = exploitation + exploration;
             }
 
-            if(uctValue == maxUctValue) {
-                maxBranches.add(branch);
-            } else if(uctValue > maxUctValue) {
+            // Reservoir sampling keeps ties uniformly random without collecting them.
+            if(uctValue > maxUctValue) {
                 maxUctValue = uctValue;
-                maxBranches.clear();
-                maxBranches.add(branch);
+                maxBranch = branch;
+                numMaxBranches = 1;
+            } else if(uctValue == maxUctValue && rand.nextInt(++numMaxBranches) == 0) {
+                maxBranch = branch;
             }
         }
         parent.statsLock().readLock().unlock();
 
-        return maxBranches.get(rand.nextInt(maxBranches.size()));
+        return maxBranch;
+    }
+
+    /**
+     * Select a branch from a node using UCB1-Tuned. The caller must have checked that {@code parent} has been visited.
+     */
+    private static <BRANCH> BRANCH ucb1TunedSelection(SearchNode<? super BRANCH> parent, List<BRANCH> branches, int activePlayer, UCB1Tuned policy, Random rand) {
+        final double maxVariance = policy.maxVariance();
+        BRANCH maxBranch = null;
+        int numMaxBranches = 0;
+        double maxValue = Double.NEGATIVE_INFINITY;
+
+        parent.statsLock().readLock().lock();
+        for(BRANCH branch : branches) {
+            if(parent.isPruned(branch))
+                continue;
+
+            final SearchNode<?> child = parent.getChild(branch);
+            final int availableCount = parent.availableCount(branch);
+            final double value;
+            if(child == null || child.visitCount() == 0 || availableCount == 0) {
+                value = Double.POSITIVE_INFINITY;
+            } else {
+                child.statsLock().readLock().lock();
+                final int visits = child.visitCount();
+                final double mean = child.totalScore(activePlayer) / visits;
+                final double sqrtLogOverVisits = LookupMath.sqrtLog(availableCount) * LookupMath.invSqrt(visits);
+                final double variance = child.totalSquaredScore(activePlayer) / visits - mean * mean + SQRT_2 * sqrtLogOverVisits;
+                child.statsLock().readLock().unlock();
+                value = mean + sqrtLogOverVisits * Math.sqrt(Math.min(maxVariance, variance));
+            }
+
+            if(value > maxValue) {
+                maxValue = value;
+                maxBranch = branch;
+                numMaxBranches = 1;
+            } else if(value == maxValue && rand.nextInt(++numMaxBranches) == 0) {
+                maxBranch = branch;
+            }
+        }
+        parent.statsLock().readLock().unlock();
+
+        return maxBranch;
+    }
+
+    /**
+     * Select an action from a node using PUCT. The caller must have checked that {@code parent} has been visited. If
+     * the state doesn't override {@link State#prior}, every action gets the same prior, which is computed once here
+     * rather than having the default build the list of valid actions for each action.
+     */
+    private static <ACTION> ACTION puctSelection(SearchNode<? super ACTION> parent, State<ACTION> state, List<ACTION> actions, PUCT policy, Random rand) {
+        final int activePlayer = state.activePlayer();
+        final double explorationParam = policy.explorationParam();
+        final boolean uniform = !OVERRIDES_PRIOR.get(state.getClass());
+        final double uniformPrior = 1.0 / actions.size();
+        ACTION maxAction = null;
+        int numMaxActions = 0;
+        double maxValue = Double.NEGATIVE_INFINITY;
+
+        parent.statsLock().readLock().lock();
+        final double parentMean = parent.totalScore(activePlayer) / parent.visitCount();
+        for(ACTION action : actions) {
+            if(parent.isPruned(action))
+                continue;
+
+            final SearchNode<?> child = parent.getChild(action);
+            final double sqrtAvailable = Math.sqrt(Math.max(parent.availableCount(action), 1));
+            final double value;
+            if(child == null || child.visitCount() == 0) {
+                value = parentMean + explorationParam * (uniform ? uniformPrior : state.prior(action)) * sqrtAvailable;
+            } else {
+                child.statsLock().readLock().lock();
+                final int visits = child.visitCount();
+                final double mean = child.totalScore(activePlayer) / visits;
+                child.statsLock().readLock().unlock();
+                value = mean + explorationParam * (uniform ? uniformPrior : state.prior(action)) * sqrtAvailable / (1 + visits);
+            }
+
+            if(value > maxValue) {
+                maxValue = value;
+                maxAction = action;
+                numMaxActions = 1;
+            } else if(value == maxValue && rand.nextInt(++numMaxActions) == 0) {
+                maxAction = action;
+            }
+        }
+        parent.statsLock().readLock().unlock();
+
+        return maxAction;
+    }
+
+    /**
+     * Select a branch from a node using Thompson sampling. The caller must have checked that {@code parent} has been
+     * visited.
+     */
+    private static <BRANCH> BRANCH thompsonSelection(SearchNode<? super BRANCH> parent, List<BRANCH> branches, int activePlayer, ThompsonSampling policy, Random rand) {
+        final double priorVariance = policy.priorVariance();
+        BRANCH maxBranch = null;
+        int numMaxBranches = 0;
+        double maxValue = Double.NEGATIVE_INFINITY;
+
+        parent.statsLock().readLock().lock();
+        for(BRANCH branch : branches) {
+            if(parent.isPruned(branch))
+                continue;
+
+            final SearchNode<?> child = parent.getChild(branch);
+            final double value;
+            if(child == null || child.visitCount() == 0) {
+                value = Double.POSITIVE_INFINITY;
+            } else {
+                child.statsLock().readLock().lock();
+                final int visits = child.visitCount();
+                final double mean = child.totalScore(activePlayer) / visits;
+                final double variance = Math.max(child.totalSquaredScore(activePlayer) / visits - mean * mean, 0);
+                child.statsLock().readLock().unlock();
+                value = mean + Math.sqrt((variance + priorVariance) / (visits + 1)) * rand.nextGaussian();
+            }
+
+            if(value > maxValue) {
+                maxValue = value;
+                maxBranch = branch;
+                numMaxBranches = 1;
+            } else if(value == maxValue && rand.nextInt(++numMaxBranches) == 0) {
+                maxBranch = branch;
+            }
+        }
+        parent.statsLock().readLock().unlock();
+
+        return maxBranch;
+    }
+
+    /**
+     * Select a branch from a node using epsilon-greedy selection. The caller must have checked that {@code parent} has
+     * been visited.
+     */
+    private static <BRANCH> BRANCH epsilonGreedySelection(SearchNode<? super BRANCH> parent, List<BRANCH> branches, int activePlayer, EpsilonGreedy policy, Random rand) {
+        if(rand.nextDouble() < policy.epsilon()) {
+            final BRANCH branch = branches.get(rand.nextInt(branches.size()));
+            if(!parent.isPruned(branch))
+                return branch;
+        }
+
+        BRANCH maxBranch = null;
+        int numMaxBranches = 0;
+        double maxValue = Double.NEGATIVE_INFINITY;
+
+        parent.statsLock().readLock().lock();
+        final double parentMean = parent.totalScore(activePlayer) / parent.visitCount();
+        for(BRANCH branch : branches) {
+            if(parent.isPruned(branch))
+                continue;
+
+            final SearchNode<?> child = parent.getChild(branch);
+            final double value;
+            if(child == null || child.visitCount() == 0) {
+                value = parentMean;
+            } else {
+                child.statsLock().readLock().lock();
+                value = child.totalScore(activePlayer) / child.visitCount();
+                child.statsLock().readLock().unlock();
+            }
+
+            if(value > maxValue) {
+                maxValue = value;
+                maxBranch = branch;
+                numMaxBranches = 1;
+            } else if(value == maxValue && rand.nextInt(++numMaxBranches) == 0) {
+                maxBranch = branch;
+            }
+        }
+        parent.statsLock().readLock().unlock();
+
+        return maxBranch;
+    }
+
+    /**
+     * Find the most visited action from the root of the searching player's MO-ISMCTS tree. A player observes their own
+     * actions the same way no matter what is hidden from them, so any determinization will do to identify the actions.
+     *
+     * @param rootNode the root of the searching player's tree
+     * @param infoSet the searching player's information set
+     * @param actions the valid actions from {@code infoSet}
+     * @param moveIds the move IDs used by the search
+     * @param rand a source of randomness, used to break ties
+     *
+     * @return The most visited action.
+     */
+    public static <STATE extends State<ACTION>, ACTION extends ObservableAction<STATE>>
+    ACTION mostVisited(MoveSeqNode rootNode, InfoSet<STATE, ACTION> infoSet, List<ACTION> actions, MoveIds moveIds, Random rand) {
+        final ActiveMoves<STATE, ACTION> activeMoves = new ActiveMoves<>(moveIds);
+        activeMoves.reset(rootNode, infoSet.determinize(rand), actions);
+        return mostVisited(activeMoves, actions, rand);
     }
 
     /**
@@ -201,7 +772,7 @@ public final class Procedures {
         final ArrayList<BRANCH> maxBranches = new ArrayList<>();
         int maxVisits = 0;
         for(BRANCH branch : branches) {
-            final SearchNode<? super BRANCH> child = node.getChild(branch);
+            final SearchNode<?> child = node.getChild(branch);
             final int visitCount = child == null ? 0 : child.visitCount();
             if(visitCount > maxVisits) {
                 maxVisits = visitCount;
@@ -214,50 +785,324 @@ public final class Procedures {
         return maxBranches.get(rand.nextInt(maxBranches.size()));
     }
 
+    /**
+     * Select a branch from a node with integer-encoded actions using UCT. Ties are broken uniformly at random.
+     *
+     * @param parent a node from which to select a branch
+     * @param activePlayer the player for whom to consider node scores
+     * @param uct UCT parameters
+     * @param rand a source of randomness
+     *
+     * @return The index of the selected branch in {@code parent.validActions()}.
+     */
+    public static int uctSelection(IntSearchNode parent, int activePlayer, UCT uct, Random rand) {
+        final int numBranches = parent.numBranches();
+        if(parent.visitCount() == 0)
+            return rand.nextInt(numBranches);
+
+        int maxBranch = -1;
+        int numMaxBranches = 0;
+        double maxUctValue = Double.NEGATIVE_INFINITY;
+
+        parent.statsLock().readLock().lock();
+        final double sqrtLogParentVisits = LookupMath.sqrtLog(parent.visitCount());
+        for(int branch = 0; branch < numBranches; branch++) {
+            final IntSearchNode child = parent.getChild(branch);
+            final double uctValue;
+            if(child == null || child.visitCount() == 0) {
+                uctValue = uct.favorUnexplored() ? Double.POSITIVE_INFINITY : (parent.totalScore(activePlayer) / parent.visitCount());
+            } else {
+                child.statsLock().readLock().lock();
+                final double exploitation = child.totalScore(activePlayer) / child.visitCount();
+                final double exploration = uct.explorationParam() * sqrtLogParentVisits * LookupMath.invSqrt(child.visitCount());
+                child.statsLock().readLock().unlock();
+                uctValue = exploitation + exploration;
+            }
+
+            // Reservoir sampling keeps ties uniformly random without collecting them.
+            if(uctValue > maxUctValue) {
+                maxUctValue = uctValue;
+                maxBranch = branch;
+                numMaxBranches = 1;
+            } else if(uctValue == maxUctValue && rand.nextInt(++numMaxBranches) == 0) {
+                maxBranch = branch;
+            }
+        }
+        parent.statsLock().readLock().unlock();
+
+        return maxBranch;
+    }
+
+    /**
+     * Select a branch of a state node using UCT. Children that are proven to be worse than another proven child are
+     * skipped. If {@code rave} is not null, the node's AMAF statistics are blended in.
+     *
+     * @param parent a node from which to select a branch
+     * @param actions the actions eligible for selection, which are some or all of {@code parent.validActions()}
+     * @param uct UCT parameters
+     * @param rave RAVE parameters, or null to not use RAVE
+     * @param rand a source of randomness
+     *
+     * @return The action selected by UCT.
+     */
+    public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    ACTION uctSelection(StateNode<STATE, ACTION> parent, List<ACTION> actions, UCT uct, RAVE rave, Random rand) {
+        if(parent.visitCount() == 0)
+            return actions.get(rand.nextInt(actions.size()));
+
+        final int activePlayer = parent.state.activePlayer();
+        ACTION maxAction = null;
+        int numMaxActions = 0;
+        double maxUctValue = Double.NEGATIVE_INFINITY;
+
+        parent.statsLock().readLock().lock();
+        final double sqrtLogParentVisits = LookupMath.sqrtLog(parent.visitCount());
+        for(ACTION action : actions) {
+            final StateNode<STATE, ACTION> child = parent.getChild(action);
+            if(child != null && parent.isDominated(child))
+                continue;
+
+            final double uctValue;
+            final int amafCount = rave == null ? 0 : parent.amafCount(action);
+            if(child == null || child.visitCount() == 0) {
+                // With RAVE, an unexplored action is judged by its AMAF statistics alone if it has any.
+                if(amafCount > 0)
+                    uctValue = parent.amafScore(action) / amafCount + uct.explorationParam() * sqrtLogParentVisits;
+                else
+                    uctValue = uct.favorUnexplored() ? Double.POSITIVE_INFINITY : (parent.totalScore(activePlayer) / parent.visitCount());
+            } else {
+                child.statsLock().readLock().lock();
+                double exploitation = child.totalScore(activePlayer) / child.visitCount();
+                if(amafCount > 0) {
+                    final double beta = rave.beta(child.visitCount());
+                    exploitation = (1 - beta) * exploitation + beta * parent.amafScore(action) / amafCount;
+                }
+                final double exploration = uct.explorationParam() * sqrtLogParentVisits * LookupMath.invSqrt(child.visitCount());
+                child.statsLock().readLock().unlock();
+                uctValue = exploitation + exploration;
+            }
+
+            // Reservoir sampling keeps ties uniformly random without collecting them.
+            if(uctValue > maxUctValue) {
+                maxUctValue = uctValue;
+                maxAction = action;
+                numMaxActions = 1;
+            } else if(uctValue == maxUctValue && rand.nextInt(++numMaxActions) == 0) {
+                maxAction = action;
+            }
+        }
+        parent.statsLock().readLock().unlock();
+
+        return maxAction;
+    }
+
+    /**
+     * @param node a state node
+     * @param rand a source of randomness, used to break ties
+     *
+     * @return If {@code node} is proven, the most visited of the actions that achieve its proven outcome; otherwise,
+     * the action leading to the most visited child.
+     */
+    public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    ACTION bestAction(StateNode<STATE, ACTION> node, Random rand) {
+        final double[] provenScores = node.provenScores();
+        if(provenScores != null) {
+            final int activePlayer = node.state.activePlayer();
+            ACTION bestAction = null;
+            int maxVisits = -1;
+            for(ACTION action : node.validActions()) {
+                final StateNode<STATE, ACTION> child = node.getChild(action);
+                final double[] childScores = child == null ? null : child.provenScores();
+                if(childScores != null && childScores[activePlayer] == provenScores[activePlayer] && child.visitCount() > maxVisits) {
+                    bestAction = action;
+                    maxVisits = child.visitCount();
+                }
+            }
+
+            if(bestAction != null)
+                return bestAction;
+        }
+
+        return mostVisited(node, node.validActions(), rand);
+    }
+
+    /**
+     * Select a branch of a two-player zero-sum node using UCT. Child values are negated when player 1 is choosing, so
+     * each player maximizes their own value.
+     *
+     * @param parent a node from which to select a branch
+     * @param uct UCT parameters
+     * @param rand a source of randomness
+     *
+     * @return The action selected by UCT.
+     */
+    public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    ACTION uctSelection(ZeroSumNode<STATE, ACTION> parent, UCT uct, Random rand) {
+        final List<ACTION> actions = parent.validActions();
+        if(parent.visitCount() == 0)
+            return actions.get(rand.nextInt(actions.size()));
+
+        final double sign = parent.activePlayer() == 0 ? 1 : -1;
+        ACTION maxAction = null;
+        int numMaxActions = 0;
+        double maxUctValue = Double.NEGATIVE_INFINITY;
+
+        parent.statsLock().readLock().lock();
+        final double sqrtLogParentVisits = LookupMath.sqrtLog(parent.visitCount());
+        for(ACTION action : actions) {
+            final ZeroSumNode<STATE, ACTION> child = parent.getChild(action);
+            final double uctValue;
+            if(child == null || child.visitCount() == 0) {
+                uctValue = uct.favorUnexplored() ? Double.POSITIVE_INFINITY : (sign * parent.totalValue() / parent.visitCount());
+            } else {
+                child.statsLock().readLock().lock();
+                final double exploitation = sign * child.totalValue() / child.visitCount();
+                final double exploration = uct.explorationParam() * sqrtLogParentVisits * LookupMath.invSqrt(child.visitCount());
+                child.statsLock().readLock().unlock();
+                uctValue = exploitation + exploration;
+            }
+
+            // Reservoir sampling keeps ties uniformly random without collecting them.
+            if(uctValue > maxUctValue) {
+                maxUctValue = uctValue;
+                maxAction = action;
+                numMaxActions = 1;
+            } else if(uctValue == maxUctValue && rand.nextInt(++numMaxActions) == 0) {
+                maxAction = action;
+            }
+        }
+        parent.statsLock().readLock().unlock();
+
+        return maxAction;
+    }
+
+    /**
+     * Select a branch of a single-player node using UCT, exploiting the highest score seen below each child rather than
+     * the mean. Children that can't beat {@code bestScore} or that have been fully searched are skipped.
+     *
+     * @param parent a node from which to select a branch
+     * @param uct UCT parameters
+     * @param rand a source of randomness
+     * @param bestScore the best score found so far, or {@code Double.NaN} to disable pruning
+     *
+     * @return The action selected by UCT, or null if every branch is pruned or fully searched.
+     */
+    public static <STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>>
+    ACTION uctSelection(SPNode<STATE, ACTION> parent, UCT uct, Random rand, double bestScore) {
+        ACTION maxAction = null;
+        int numMaxActions = 0;
+        double maxUctValue = Double.NEGATIVE_INFINITY;
+
+        parent.statsLock().readLock().lock();
+        final double sqrtLogParentVisits = LookupMath.sqrtLog(Math.max(1, parent.visitCount()));
+        for(ACTION action : parent.validActions()) {
+            final SPNode<STATE, ACTION> child = parent.getChild(action);
+            if(child != null && child.isPruned(bestScore))
+                continue;
+
+            final double uctValue;
+            if(child == null || child.visitCount() == 0) {
+                uctValue = uct.favorUnexplored() ? Double.POSITIVE_INFINITY : parent.maxScore();
+            } else {
+                child.statsLock().readLock().lock();
+                final double exploitation = child.maxScore();
+                final double exploration = uct.explorationParam() * sqrtLogParentVisits * LookupMath.invSqrt(child.visitCount());
+                child.statsLock().readLock().unlock();
+                uctValue = exploitation + exploration;
+            }
+
+            // Reservoir sampling keeps ties uniformly random without collecting them.
+            if(uctValue > maxUctValue) {
+                maxUctValue = uctValue;
+                maxAction = action;
+                numMaxActions = 1;
+            } else if(uctValue == maxUctValue && rand.nextInt(++numMaxActions) == 0) {
+                maxAction = action;
+            }
+        }
+        parent.statsLock().readLock().unlock();
+
+        return maxAction;
+    }
+
+    /**
+     * @param node a node with integer-encoded actions
+     * @param rand a source of randomness, used to break ties
+     *
+     * @return The action leading to the most visited child of {@code node}.
+     */
+    public static int mostVisited(IntSearchNode node, Random rand) {
+        final int[] validActions = node.validActions();
+        int maxAction = -1;
+        int numMaxActions = 0;
+        int maxVisits = -1;
+        for(int branch = 0; branch < validActions.length; branch++) {
+            final IntSearchNode child = node.getChild(branch);
+            final int visitCount = child == null ? 0 : child.visitCount();
+            if(visitCount > maxVisits) {
+                maxVisits = visitCount;
+                maxAction = validActions[branch];
+                numMaxActions = 1;
+            } else if(visitCount == maxVisits && rand.nextInt(++numMaxActions) == 0) {
+                maxAction = validActions[branch];
+            }
+        }
+        return maxAction;
+    }
+
     /**
      * Shared by OLMCTS and ISMCTS. Does an iteration using a simulated state and action sequence nodes.
      */
     private static <STATE extends State<ACTION>, ACTION extends StochasticAction<STATE>>
-    void iterActionSeq(STATE simulatedState, ActionSeqNode rootNode, UCT uct, Random rand) {
+    void iterActionSeq(STATE simulatedState, ActionSeqNode rootNode, SelectionPolicy policy, ProgressiveWidening widening, Random rand, double[] scoreBuffer, AmafRecorder amaf) {
         // Stores the path of traversal through the search tree
         final ArrayDeque<ActionSeqNode> nodePath = new ArrayDeque<>();
+        final RAVE rave = amaf == null ? null : amaf.rave();
+        if(amaf != null)
+            amaf.clear();
 
         ActionSeqNode currentNode = rootNode;
         nodePath.add(currentNode);
 
-        List<ACTION> validActions = simulatedState.validActions();
-
         // Selection and Expansion - Select child nodes using UCT, expanding where necessary.
         boolean continueSelection = true;
-        while(simulatedState.scores() == null && continueSelection) {
-            final ACTION selectedAction = uctSelection(currentNode, validActions, simulatedState.activePlayer(), uct, rand);
+        while(!simulatedState.isTerminal() && continueSelection) {
+            final List<ACTION> eligibleActions = eligibleActions(simulatedState.validActions(), currentNode.visitCount(), widening);
+            final ACTION selectedAction = select(currentNode, simulatedState, eligibleActions, policy, rave, rand);
+            if(amaf != null)
+                amaf.record(simulatedState.activePlayer(), selectedAction);
 
-            for(ACTION action : validActions) {
-                currentNode.createChildIfNotPresent(action);
-                currentNode.getChild(action).incAvailableCount();
-            }
+            currentNode.incAvailableCounts(eligibleActions);
 
-            final ActionSeqNode selectedChild = currentNode.getChild(selectedAction);
+            final ActionSeqNode selectedChild = currentNode.createChildIfNotPresent(selectedAction);
             if(selectedChild.visitCount() == 0)
                 continueSelection = false;
 
             simulatedState = selectedAction.applyToState(simulatedState, rand);
-            validActions = simulatedState.validActions();
 
             currentNode = selectedChild;
             nodePath.add(currentNode);
         }
 
         // Simulation - Choose a random action until the game is decided.
-        while(simulatedState.scores() == null) {
-            final ACTION action = validActions.get(rand.nextInt(validActions.size()));
+        while(!simulatedState.isTerminal()) {
+            final ACTION action = simulatedState.randomAction(rand);
+            if(amaf != null)
+                amaf.record(simulatedState.activePlayer(), action);
             simulatedState = action.applyToState(simulatedState, rand);
-            validActions = simulatedState.validActions();
         }
 
-        // Backpropagation - Update all nodes that were selected with the results of simulation.
-        final double[] scores = simulatedState.scores();
-        while(!nodePath.isEmpty())
-            nodePath.removeLast().updateScores(scores);
+        // Backpropagation - Update all nodes that were selected with the results of simulation. With RAVE, the node at
+        // depth d is credited with the actions recorded from index d onward, the first of which was done from it.
+        simulatedState.scoresInto(scoreBuffer);
+        while(!nodePath.isEmpty()) {
+            final ActionSeqNode node = nodePath.removeLast();
+            node.updateScores(scoreBuffer);
+            final int depth = nodePath.size();
+            if(amaf != null && depth < amaf.size()) {
+                final int player = amaf.player(depth);
+                node.updateAmaf(amaf, depth, player, scoreBuffer[player]);
+            }
+        }
     }
 }
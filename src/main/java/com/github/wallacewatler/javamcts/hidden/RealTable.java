@@ -3,18 +3,13 @@ package com.github.wallacewatler.javamcts.hidden;
 import com.github.wallacewatler.javamcts.DeterministicAction;
 import com.github.wallacewatler.javamcts.VisibleState;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An actual {@link TranspositionTable} (as opposed to a {@link DummyTable}).
  */
 public final class RealTable<STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>> implements TranspositionTable<STATE, ACTION> {
-    private final HashMap<STATE, StateNode<STATE, ACTION>> table = new HashMap<>();
-
-    @Override
-    public boolean contains(STATE state) {
-        return table.containsKey(state);
-    }
+    private final ConcurrentHashMap<STATE, StateNode<STATE, ACTION>> table = new ConcurrentHashMap<>();
 
     @Override
     public StateNode<STATE, ACTION> get(STATE state) {
@@ -22,8 +17,8 @@ public final class RealTable<STATE extends VisibleState<STATE, ACTION>, ACTION e
     }
 
     @Override
-    public void put(STATE state, StateNode<STATE, ACTION> node) {
-        table.put(state, node);
+    public StateNode<STATE, ACTION> putIfAbsent(STATE state, StateNode<STATE, ACTION> node) {
+        return table.putIfAbsent(state, node);
     }
 
     @Override
@@ -0,0 +1,78 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded queue that any number of threads can offer to and poll from without locking. Each slot has a sequence
+ * number that says whether it is ready to be written or read for a given position, so threads only contend on the
+ * head or tail counter and never wait for one another.
+ */
+final class RingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+
+    /** The position of the next element to poll. */
+    private final AtomicLong head = new AtomicLong();
+
+    /** The position of the next element to offer. */
+    private final AtomicLong tail = new AtomicLong();
+
+    RingBuffer(int capacity) {
+        this.capacity = capacity;
+        slots = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for(int i = 0; i < capacity; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * @return True if {@code element} was added, or false if the buffer is full.
+     */
+    boolean offer(E element) {
+        long pos = tail.get();
+        while(true) {
+            final int slot = (int) (pos % capacity);
+            final long diff = sequences.get(slot) - pos;
+            if(diff == 0) {
+                if(tail.compareAndSet(pos, pos + 1)) {
+                    slots.set(slot, element);
+                    sequences.set(slot, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if(diff < 0) {
+                // The slot still holds an element from one lap ago.
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return The oldest element, or null if the buffer is empty.
+     */
+    E poll() {
+        long pos = head.get();
+        while(true) {
+            final int slot = (int) (pos % capacity);
+            final long diff = sequences.get(slot) - (pos + 1);
+            if(diff == 0) {
+                if(head.compareAndSet(pos, pos + 1)) {
+                    final E element = slots.getAndSet(slot, null);
+                    sequences.set(slot, pos + capacity);
+                    return element;
+                }
+                pos = head.get();
+            } else if(diff < 0) {
+                // The slot hasn't been written for this lap yet.
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.DeterministicAction;
+import com.github.wallacewatler.javamcts.VisibleState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A node in a single-player search tree. This is the same as {@link StateNode}, but it keeps a single total score, the
+ * highest score seen below it, and an upper bound on the score reachable from its state for pruning.
+ */
+public final class SPNode<STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>> {
+    private final ReentrantReadWriteLock statsLock = new ReentrantReadWriteLock();
+    private final ReentrantLock childCreationLock = new ReentrantLock();
+    private final ConcurrentHashMap<ACTION, SPNode<STATE, ACTION>> children = new ConcurrentHashMap<>();
+    public final STATE state;
+
+    /** Cached from {@link #state} since the state of a node never changes. */
+    private final List<ACTION> validActions;
+
+    private final boolean isTerminal;
+
+    /** Cached from {@link #state}; the score of the state if it is terminal. */
+    private final double score;
+
+    /** An upper bound on the score reachable from {@link #state}. */
+    private final double bound;
+
+    /** Whether there is nothing left to search below this node. */
+    private volatile boolean exhausted = false;
+
+    private volatile int visitCount = 0;
+    private double totalScore = 0;
+    private double maxScore = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param scoreBound an upper bound on the score reachable from a state, or null if there is none
+     * @param scoreBuffer scratch space with one element
+     */
+    public SPNode(STATE state, ToDoubleFunction<? super STATE> scoreBound, double[] scoreBuffer) {
+        this.state = state;
+        validActions = state.validActions();
+        isTerminal = state.isTerminal();
+        if(isTerminal) {
+            state.scoresInto(scoreBuffer);
+            score = scoreBuffer[0];
+            bound = score;
+        } else {
+            score = 0;
+            bound = scoreBound == null ? Double.POSITIVE_INFINITY : scoreBound.applyAsDouble(state);
+        }
+    }
+
+    /**
+     * @return The number of times this node has been visited.
+     */
+    public int visitCount() {
+        return visitCount;
+    }
+
+    /**
+     * @return The sum of the scores backpropagated through this node.
+     */
+    public double totalScore() {
+        return totalScore;
+    }
+
+    /**
+     * @return The highest score backpropagated through this node.
+     */
+    public double maxScore() {
+        return maxScore;
+    }
+
+    /**
+     * @return The child corresponding to {@code action}, or null if it hasn't been created yet.
+     */
+    public SPNode<STATE, ACTION> getChild(ACTION action) {
+        return children.get(action);
+    }
+
+    /**
+     * @return The lock used to maintain the integrity of this node's statistics.
+     */
+    public ReadWriteLock statsLock() {
+        return statsLock;
+    }
+
+    /**
+     * Create the child for {@code action} if it doesn't already exist. Locking only happens if the child has to be
+     * created, so that computing its state is not duplicated by other threads.
+     *
+     * @param table a transposition table, or null if none is used; it must be concurrent if threads share it
+     * @param scoreBound an upper bound on the score reachable from a state, or null if there is none
+     * @param scoreBuffer scratch space with one element
+     *
+     * @return The child corresponding to {@code action}.
+     */
+    public SPNode<STATE, ACTION> createChildIfNotPresent(ACTION action, Map<STATE, SPNode<STATE, ACTION>> table,
+                                                         ToDoubleFunction<? super STATE> scoreBound, double[] scoreBuffer) {
+        SPNode<STATE, ACTION> child = children.get(action);
+        if(child != null)
+            return child;
+
+        childCreationLock.lock();
+
+        child = children.get(action);
+        if(child == null) {
+            final STATE state = action.applyToState(this.state.copy());
+            if(table == null) {
+                child = new SPNode<>(state, scoreBound, scoreBuffer);
+            } else {
+                child = table.get(state);
+                if(child == null) {
+                    // If another parent reached the same state in the meantime, its node is kept and this one is dropped.
+                    final SPNode<STATE, ACTION> newChild = new SPNode<>(state, scoreBound, scoreBuffer);
+                    final SPNode<STATE, ACTION> existing = table.putIfAbsent(state, newChild);
+                    child = existing == null ? newChild : existing;
+                }
+            }
+            children.put(action, child);
+        }
+
+        childCreationLock.unlock();
+        return child;
+    }
+
+    /**
+     * @return The valid actions from this node's state. The returned list must not be modified.
+     */
+    public List<ACTION> validActions() {
+        return validActions;
+    }
+
+    /**
+     * @return The score of this node's state. This is only meaningful if the state is terminal.
+     */
+    public double score() {
+        return score;
+    }
+
+    /**
+     * @return True if this node's state is terminal.
+     */
+    public boolean isTerminal() {
+        return isTerminal;
+    }
+
+    /**
+     * @param bestScore the best score found so far
+     *
+     * @return True if nothing below this node can score higher than {@code bestScore}, or if there is nothing left to
+     * search below this node.
+     */
+    public boolean isPruned(double bestScore) {
+        return exhausted || bound <= bestScore;
+    }
+
+    /**
+     * Mark this node as having nothing left to search below it, either because it is terminal and has been visited or
+     * because every branch out of it is pruned.
+     */
+    public void markExhausted() {
+        exhausted = true;
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void updateScore(double score) {
+        statsLock.writeLock().lock();
+
+        visitCount++;
+        totalScore += score;
+        if(score > maxScore)
+            maxScore = score;
+
+        statsLock.writeLock().unlock();
+    }
+
+    /**
+     * @return The number of nodes in this tree.
+     */
+    public int numNodes() {
+        int num = 1;
+        for(SPNode<STATE, ACTION> child : children.values())
+            num += child.numNodes();
+
+        return num;
+    }
+
+    @Override
+    public String toString() {
+        return "SPNode{" +
+                "visitCount=" + visitCount +
+                ", totalScore=" + totalScore +
+                ", maxScore=" + maxScore +
+                '}';
+    }
+}
@@ -0,0 +1,238 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.CancellationToken;
+import com.github.wallacewatler.javamcts.SearchParameters;
+import com.github.wallacewatler.javamcts.TimeMode;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of how much time and how many iterations a search has left. Each worker thread checks the budget through
+ * its own {@link Worker} so that the per-iteration bookkeeping never touches memory shared between threads.
+ * <p>
+ * The clock is read at adaptive intervals, aiming for roughly one read every {@link #CHECK_PERIOD} nanoseconds
+ * regardless of how long an iteration takes. If iterations are shared between threads, they are claimed from a shared
+ * pool in chunks rather than one at a time.
+ * <p>
+ * A worker's budget also runs out when its thread is interrupted or the search's {@link CancellationToken} is
+ * cancelled, which is noticed at the next clock read. The interrupt status is left set for the caller to see.
+ * <p>
+ * If the search was started under a {@link CoreGate}, each worker waits for a core when it is created and offers to
+ * give its core up whenever it reads the clock.
+ */
+public final class SearchBudget {
+    /** Target time between clock reads, in nanoseconds. */
+    private static final long CHECK_PERIOD = 500_000;
+
+    /**
+     * The maximum number of iterations between clock reads. This bounds how far a search can overrun its time if
+     * iterations suddenly get much slower.
+     */
+    private static final int MAX_STRIDE = 1 << 10;
+
+    /** The maximum number of iterations claimed from a shared pool at once. */
+    private static final int MAX_CHUNK = 256;
+
+    private final long startNanos;
+    private final long minNanos;
+    private final long maxNanos;
+    private final int maxIters;
+    private final ThreadMXBean cpuClock;
+
+    /** Stops the search early once cancelled, or null if not given. */
+    private final CancellationToken cancellation;
+
+    /** The job that this search's workers are scheduled as, or null if they aren't scheduled. */
+    private final CoreGate.Job job;
+
+    /** Iterations left for each pool, or null if each worker has its own allowance. */
+    private final AtomicInteger[] pools;
+    private final int chunkSize;
+
+    /**
+     * @param params the search parameters
+     * @param treeCount the number of search trees; the threads are assumed to be spread evenly among them
+     *
+     * @throws UnsupportedOperationException if time is measured in thread CPU time but the JVM does not support it or
+     * has it disabled
+     */
+    public SearchBudget(SearchParameters params, int treeCount) {
+        startNanos = System.nanoTime();
+        minNanos = toNanos(params.minTime());
+        maxNanos = toNanos(params.maxTime());
+        maxIters = params.maxIters();
+        cancellation = params.cancellation();
+
+        if(params.timeMode() == TimeMode.THREAD_CPU) {
+            cpuClock = ManagementFactory.getThreadMXBean();
+            if(!cpuClock.isCurrentThreadCpuTimeSupported())
+                throw new UnsupportedOperationException("thread CPU time is not supported by this JVM");
+
+            if(!cpuClock.isThreadCpuTimeEnabled())
+                throw new UnsupportedOperationException("thread CPU time is disabled in this JVM");
+        } else {
+            cpuClock = null;
+        }
+
+        final CoreGate gate = CoreGate.current();
+        job = gate == null ? null : gate.newJob(CoreGate.deadline(startNanos, maxNanos), cpuClock == null, cancellation);
+
+        final int poolCount = switch(params.iterationScope()) {
+            case PER_TREE -> treeCount;
+            case GLOBAL -> 1;
+            case PER_THREAD -> 0;
+        };
+
+        if(poolCount == 0) {
+            pools = null;
+            chunkSize = 0;
+        } else {
+            pools = new AtomicInteger[poolCount];
+            for(int i = 0; i < poolCount; i++)
+                pools[i] = new AtomicInteger(maxIters);
+
+            final int threadsPerPool = Math.max(1, params.threadCount() / poolCount);
+            chunkSize = Math.max(1, Math.min(MAX_CHUNK, maxIters / (16 * threadsPerPool)));
+        }
+    }
+
+    /**
+     * @return The wall-clock time elapsed since this budget was created, in milliseconds.
+     */
+    public long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Create a view of this budget for a single worker thread. This must be called from the worker thread itself since
+     * time may be measured per thread. If the search is scheduled, this waits until the worker has a core, and the
+     * worker must give it up through {@link CoreGate#releaseHeld()} when it is done.
+     *
+     * @param tree the index of the tree that the worker searches
+     *
+     * @return A new view of this budget for the calling thread.
+     */
+    public Worker newWorker(int tree) {
+        return new Worker(pools == null ? null : pools[pools.length == 1 ? 0 : tree]);
+    }
+
+    private static long toNanos(long millis) {
+        return millis >= Long.MAX_VALUE / 1_000_000 ? Long.MAX_VALUE : millis * 1_000_000;
+    }
+
+    /**
+     * A single thread's view of a {@link SearchBudget}. Instances of this class must not be shared between threads.
+     */
+    public final class Worker {
+        /** Iterations left for this worker and any others searching the same tree, or null if not shared. */
+        private final AtomicInteger pool;
+        private final long clockStart;
+
+        /** This worker's claim on a core, or null if it isn't scheduled. */
+        private final CoreGate.Slot slot;
+
+        private int iters = 0;
+        private int quota;
+        private int stride = 1;
+        private int untilCheck = 0;
+        private long lastCheck;
+        private int itersAtLastCheck = 0;
+        private boolean minTimePassed = false;
+        private boolean expired = false;
+
+        private Worker(AtomicInteger pool) {
+            this.pool = pool;
+            quota = pool == null ? maxIters : 0;
+            clockStart = cpuClock == null ? startNanos : cpuClock.getCurrentThreadCpuTime();
+            lastCheck = clockStart;
+            slot = job == null ? null : job.newSlot();
+            if(slot != null && !slot.acquire())
+                expired = true;
+        }
+
+        /**
+         * Reserve the next iteration. If this returns true, the caller should do exactly one iteration.
+         *
+         * @return True if the budget allows another iteration.
+         */
+        public boolean next() {
+            if(--untilCheck <= 0)
+                checkClock();
+
+            if(expired)
+                return false;
+
+            // Iterations are still counted before the minimum time has passed, but running out is ignored.
+            if(quota == 0 && (quota = claimChunk()) == 0) {
+                if(minTimePassed)
+                    return false;
+            } else {
+                quota--;
+            }
+
+            iters++;
+            return true;
+        }
+
+        /**
+         * @return The number of iterations reserved by this worker.
+         */
+        public int iters() {
+            return iters;
+        }
+
+        /**
+         * Take up to {@link #chunkSize} iterations from the shared pool.
+         *
+         * @return The number of iterations taken.
+         */
+        private int claimChunk() {
+            if(pool == null)
+                return 0;
+
+            while(true) {
+                final int left = pool.get();
+                if(left == 0)
+                    return 0;
+
+                final int claimed = Math.min(left, chunkSize);
+                if(pool.compareAndSet(left, left - claimed))
+                    return claimed;
+            }
+        }
+
+        /**
+         * @return True if the search has been stopped from outside, by interrupt or by cancellation.
+         */
+        private boolean stopped() {
+            return Thread.currentThread().isInterrupted() || (cancellation != null && cancellation.isCancelled());
+        }
+
+        private void checkClock() {
+            if(slot != null && !slot.yieldIfDue()) {
+                expired = true;
+                return;
+            }
+
+            final long now = cpuClock == null ? System.nanoTime() : cpuClock.getCurrentThreadCpuTime();
+            final long elapsed = now - clockStart;
+            expired = elapsed > maxNanos || stopped();
+            minTimePassed = elapsed >= minNanos;
+
+            // Size the stride from the time per iteration since the last read, so that clock reads happen about once per
+            // check period. It shrinks to fit at once if iterations get slower, but at most doubles if they get faster.
+            final long sinceLast = now - lastCheck;
+            final int itersSinceLast = iters - itersAtLastCheck;
+            if(itersSinceLast > 0 && sinceLast > 0) {
+                final long fit = CHECK_PERIOD * itersSinceLast / sinceLast;
+                stride = (int) Math.max(1, Math.min(Math.min(fit, 2L * stride), MAX_STRIDE));
+            }
+
+            lastCheck = now;
+            itersAtLastCheck = iters;
+            untilCheck = stride;
+        }
+    }
+}
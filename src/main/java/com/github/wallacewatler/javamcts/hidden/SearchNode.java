@@ -21,12 +21,26 @@ public interface SearchNode<BRANCH> {
      */
     double totalScore(int activePlayer);
 
+    /**
+     * Squared scores are only tracked when the search uses a selection policy that needs them; see
+     * {@link Procedures#usesVariance}. Nodes that don't track them return 0.
+     *
+     * @param activePlayer the player who does an action from this node
+     *
+     * @return The sum of the squares of the scores for {@code activePlayer} in this node, from which the variance of the
+     * scores can be estimated.
+     */
+    default double totalSquaredScore(int activePlayer) {
+        return 0;
+    }
+
     /**
      * @param branch a branch leading out of this node
      *
-     * @return The child of this node that corresponds to {@code branch}.
+     * @return The child of this node that corresponds to {@code branch}, or null if it doesn't exist. Only the child's
+     * own statistics are used, so its branches may be of a different type.
      */
-    SearchNode<BRANCH> getChild(BRANCH branch);
+    SearchNode<?> getChild(BRANCH branch);
 
     /**
      * @return The number of times {@code branch} has been selected.
@@ -34,10 +48,45 @@ public interface SearchNode<BRANCH> {
     int selectCount(BRANCH branch);
 
     /**
+     * The caller must hold the read lock of this node's {@link #statsLock()}.
+     *
      * @return The number of times {@code branch} has been available for selection.
      */
     int availableCount(BRANCH branch);
 
+    /**
+     * @return True if {@code branch} should never be selected, e.g. because it is proven to be worse than another branch.
+     */
+    default boolean isPruned(BRANCH branch) {
+        return false;
+    }
+
+    /**
+     * The caller must hold the read lock of this node's {@link #statsLock()}. Nodes that don't record AMAF statistics
+     * return 0.
+     *
+     * @return The number of times {@code branch} has been credited with an iteration's result as if it had been done
+     * first from this node.
+     *
+     * @see com.github.wallacewatler.javamcts.RAVE
+     */
+    default int amafCount(BRANCH branch) {
+        return 0;
+    }
+
+    /**
+     * The caller must hold the read lock of this node's {@link #statsLock()}. Nodes that don't record AMAF statistics
+     * return 0.
+     *
+     * @return The total score credited to {@code branch} as if it had been done first from this node, for the player
+     * who does an action from this node.
+     *
+     * @see com.github.wallacewatler.javamcts.RAVE
+     */
+    default double amafScore(BRANCH branch) {
+        return 0;
+    }
+
     /**
      * @return The lock used to maintain the integrity of this node's statistics.
      */
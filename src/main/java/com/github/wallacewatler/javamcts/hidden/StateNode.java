@@ -20,12 +20,48 @@ public final class StateNode<STATE extends VisibleState<STATE, ACTION>, ACTION e
     private final ConcurrentHashMap<ACTION, StateNode<STATE, ACTION>> children = new ConcurrentHashMap<>();
     public final STATE state;
 
+    /** Cached from {@link #state} since the state of a node never changes. */
+    private final List<ACTION> validActions;
+
+    /** Cached from {@link #state}; null if the state is not terminal. */
+    private final double[] scores;
+
+    /**
+     * The scores that each player receives with perfect play from this node's state, or null if they haven't been
+     * proven yet. Terminal nodes start out proven.
+     */
+    private volatile double[] provenScores;
+
+    /**
+     * The best score for the active player among proven children, used to skip proven children that are worse. This
+     * is only updated by {@link #tryProve()}, so it can lag behind.
+     */
+    private volatile double bestProvenScore = Double.NEGATIVE_INFINITY;
+
+    /** Created on the first AMAF update; guarded by {@link #statsLock}. */
+    private AmafStats amafStats;
+
     private volatile int visitCount = 0;
     private final double[] totalScores;
 
-    public StateNode(int numPlayers, STATE state) {
+    /** The sum of the squares of each player's scores, or null if the search doesn't use them. */
+    private final double[] totalSquaredScores;
+
+    /**
+     * @param trackVariance whether to track squared scores in this node and its descendants
+     */
+    public StateNode(int numPlayers, STATE state, boolean trackVariance) {
         this.state = state;
+        validActions = state.validActions();
+        if(state.isTerminal()) {
+            scores = new double[numPlayers];
+            state.scoresInto(scores);
+        } else {
+            scores = null;
+        }
+        provenScores = scores;
         totalScores = new double[numPlayers];
+        totalSquaredScores = trackVariance ? new double[numPlayers] : null;
     }
 
     @Override
@@ -38,6 +74,11 @@ public final class StateNode<STATE extends VisibleState<STATE, ACTION>, ACTION e
         return totalScores[activePlayer];
     }
 
+    @Override
+    public double totalSquaredScore(int activePlayer) {
+        return totalSquaredScores == null ? 0 : totalSquaredScores[activePlayer];
+    }
+
     @Override
     public StateNode<STATE, ACTION> getChild(ACTION action) {
         return children.get(action);
@@ -53,37 +94,141 @@ public final class StateNode<STATE extends VisibleState<STATE, ACTION>, ACTION e
         return visitCount;
     }
 
+    @Override
+    public int amafCount(ACTION action) {
+        return amafStats == null ? 0 : amafStats.count(action);
+    }
+
+    @Override
+    public double amafScore(ACTION action) {
+        return amafStats == null ? 0 : amafStats.total(action);
+    }
+
     @Override
     public ReadWriteLock statsLock() {
         return statsLock;
     }
 
-    public void createChildIfNotPresent(ACTION action, TranspositionTable<STATE, ACTION> table) {
+    /**
+     * Create the child for {@code action} if it doesn't already exist. Locking only happens if the child has to be
+     * created, so that computing its state is not duplicated by other threads. The lock belongs to this node, so
+     * expansions of different nodes never wait for each other; the new node is built outside of the table and then
+     * published to it atomically.
+     *
+     * @return The child corresponding to {@code action}.
+     */
+    public StateNode<STATE, ACTION> createChildIfNotPresent(ACTION action, TranspositionTable<STATE, ACTION> table) {
+        StateNode<STATE, ACTION> child = children.get(action);
+        if(child != null)
+            return child;
+
         childCreationLock.lock();
 
-        if(!children.containsKey(action)) {
+        child = children.get(action);
+        if(child == null) {
             final STATE state = action.applyToState(this.state.copy());
-            //noinspection SynchronizationOnLocalVariableOrMethodParameter
-            synchronized (table) {
-                if(table.contains(state)) {
-                    children.put(action, table.get(state));
-                } else {
-                    final StateNode<STATE, ACTION> child = new StateNode<>(totalScores.length, state);
-                    children.put(action, child);
-                    table.put(state, child);
-                }
+            child = table.get(state);
+            if(child == null) {
+                // If another parent reached the same state in the meantime, its node is kept and this one is dropped.
+                final StateNode<STATE, ACTION> newChild = new StateNode<>(totalScores.length, state, totalSquaredScores != null);
+                final StateNode<STATE, ACTION> existing = table.putIfAbsent(state, newChild);
+                child = existing == null ? newChild : existing;
             }
+            children.put(action, child);
         }
 
         childCreationLock.unlock();
+        return child;
     }
 
+    /**
+     * @return The valid actions from this node's state. The returned list must not be modified.
+     */
     public List<ACTION> validActions() {
-        return state.validActions();
+        return validActions;
     }
 
+    /**
+     * @return The scores of this node's state, or null if it is not terminal. The returned array must not be modified.
+     */
     public double[] scores() {
-        return state.scores();
+        return scores;
+    }
+
+    /**
+     * @return True if this node's state is terminal.
+     */
+    public boolean isTerminal() {
+        return scores != null;
+    }
+
+    /**
+     * @return The scores that each player receives with perfect play from this node's state, or null if they haven't
+     * been proven yet. The returned array must not be modified.
+     */
+    public double[] provenScores() {
+        return provenScores;
+    }
+
+    /**
+     * @return True if the outcome of this node's state under perfect play is known.
+     */
+    public boolean isProven() {
+        return provenScores != null;
+    }
+
+    /**
+     * Try to prove the outcome of this node's state from its children. The active player is assumed to choose the
+     * child that is best for them, so the state is proven if a proven child gives the active player
+     * {@link VisibleState#maxScore()}, or if every child is proven.
+     *
+     * @return True if this node is proven.
+     */
+    public boolean tryProve() {
+        if(provenScores != null)
+            return true;
+
+        final int activePlayer = state.activePlayer();
+        final double maxScore = state.maxScore();
+        double[] best = null;
+        boolean allProven = true;
+        for(ACTION action : validActions) {
+            final StateNode<STATE, ACTION> child = children.get(action);
+            final double[] childScores = child == null ? null : child.provenScores;
+            if(childScores == null) {
+                allProven = false;
+            } else if(childScores[activePlayer] >= maxScore) {
+                provenScores = childScores;
+                return true;
+            } else if(best == null || childScores[activePlayer] > best[activePlayer]) {
+                best = childScores;
+            }
+        }
+
+        if(best != null && best[activePlayer] > bestProvenScore)
+            bestProvenScore = best[activePlayer];
+
+        if(allProven)
+            provenScores = best;
+
+        return allProven;
+    }
+
+    /**
+     * @param child a child of this node
+     *
+     * @return True if {@code child} is proven to be worse for the active player than another proven child, in which
+     * case there is no point in selecting it.
+     */
+    public boolean isDominated(StateNode<STATE, ACTION> child) {
+        final double[] childScores = child.provenScores;
+        return childScores != null && childScores[state.activePlayer()] < bestProvenScore;
+    }
+
+    @Override
+    public boolean isPruned(ACTION action) {
+        final StateNode<STATE, ACTION> child = children.get(action);
+        return child != null && isDominated(child);
     }
 
     @SuppressWarnings("NonAtomicOperationOnVolatileField")
@@ -93,6 +238,23 @@ public final class StateNode<STATE extends VisibleState<STATE, ACTION>, ACTION e
         visitCount++;
         for(int i = 0; i < scores.length; i++)
             totalScores[i] += scores[i];
+        if(totalSquaredScores != null)
+            for(int i = 0; i < scores.length; i++)
+                totalSquaredScores[i] += scores[i] * scores[i];
+
+        statsLock.writeLock().unlock();
+    }
+
+    /**
+     * Credit {@code score} to the AMAF statistics of every distinct action in {@code moves}, from index {@code from}
+     * onward, that was done by {@code player}.
+     */
+    public void updateAmaf(AmafRecorder moves, int from, int player, double score) {
+        statsLock.writeLock().lock();
+
+        if(amafStats == null)
+            amafStats = new AmafStats();
+        amafStats.update(moves, from, player, score);
 
         statsLock.writeLock().unlock();
     }
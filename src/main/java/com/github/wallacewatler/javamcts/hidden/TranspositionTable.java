@@ -17,24 +17,20 @@ public interface TranspositionTable<STATE extends VisibleState<STATE, ACTION>, A
     /**
      * @param state a game state
      *
-     * @return True if this table contains {@code state}.
-     */
-    boolean contains(STATE state);
-
-    /**
-     * @param state a game state
-     *
-     * @return The {@link StateNode} that represents {@code state}.
+     * @return The {@link StateNode} that represents {@code state}, or null if there is none.
      */
     StateNode<STATE, ACTION> get(STATE state);
 
     /**
-     * Insert a state into this table.
+     * Insert a state into this table unless it is already there. This is atomic, so that threads sharing the table can
+     * build nodes without holding a lock and agree on which one is kept.
      *
      * @param state the state to insert
      * @param node the corresponding {@link StateNode}
+     *
+     * @return The node already in the table for {@code state}, or null if {@code node} was inserted.
      */
-    void put(STATE state, StateNode<STATE, ACTION> node);
+    StateNode<STATE, ACTION> putIfAbsent(STATE state, StateNode<STATE, ACTION> node);
 
     /**
      * @return The number of states in this table.
@@ -0,0 +1,95 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.SearchParameters;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+
+/**
+ * Runs the workers of a parallel search over one or more trees. Root, tree, and hybrid parallelization only differ in
+ * how many trees the workers are spread over, so every engine searches through here:
+ * <ul>
+ *     <li>Root parallelization searches one tree per thread.</li>
+ *     <li>Tree parallelization searches a single tree with every thread.</li>
+ *     <li>Hybrid parallelization searches a tree per group of threads.</li>
+ * </ul>
+ * Worker {@code n} searches tree {@code n % numTrees}, so the threads are spread evenly among the trees.
+ */
+public final class TreeWorkers {
+    private TreeWorkers() {}
+
+    /**
+     * How long a search ran and how much work it did.
+     *
+     * @param itersPerThread the average number of iterations done by each thread
+     * @param elapsedMillis the wall-clock time that the search took, in milliseconds
+     */
+    public record Stats(double itersPerThread, long elapsedMillis) {}
+
+    /**
+     * Search {@code numTrees} trees with the search's threads and wait for all of them to finish. Each worker repeats
+     * its iteration until the search's budget runs out or the iteration returns false.
+     *
+     * @param name the name of the search, which worker threads are named after
+     * @param params the search parameters
+     * @param numTrees the number of trees, at most the thread count
+     * @param newWorker makes a worker's iteration given the tree it searches; this is called on the worker's own
+     *                  thread, so per-worker buffers can be created here
+     *
+     * @return How long the search ran and how much work it did.
+     *
+     * @throws UnsupportedOperationException if time is measured in thread CPU time but the JVM does not support it or
+     * has it disabled
+     */
+    public static Stats run(String name, SearchParameters params, int numTrees, IntFunction<BooleanSupplier> newWorker) {
+        final SearchBudget budget = new SearchBudget(params, numTrees);
+        final AtomicInteger totalIters = new AtomicInteger();
+
+        // Run the workers and wait for all of them to finish.
+        Workers.run(name, params.threadCount(), workerNum -> {
+            final int tree = workerNum % numTrees;
+            final BooleanSupplier iteration = newWorker.apply(tree);
+            final SearchBudget.Worker workerBudget = budget.newWorker(tree);
+            while(workerBudget.next()) {
+                if(!iteration.getAsBoolean())
+                    break;
+            }
+
+            totalIters.addAndGet(workerBudget.iters());
+        });
+
+        return new Stats((double) totalIters.get() / params.threadCount(), budget.elapsedMillis());
+    }
+
+    /**
+     * Like {@link #run(String, SearchParameters, int, IntFunction)}, for searches whose workers take determinizations
+     * from a producer. The producer is stopped once the workers finish, even if one of them fails, so that its threads
+     * don't outlive the search.
+     *
+     * @param producer the search's determinization producer, or null if it doesn't have one
+     */
+    public static Stats run(String name, SearchParameters params, int numTrees, DeterminizationProducer<?> producer,
+                            IntFunction<BooleanSupplier> newWorker) {
+        try {
+            return run(name, params, numTrees, newWorker);
+        } finally {
+            if(producer != null)
+                producer.stop();
+        }
+    }
+
+    /**
+     * @param votes each tree's recommended action
+     *
+     * @return The action with the most votes.
+     */
+    public static <ACTION> ACTION majority(List<ACTION> votes) {
+        final HashMap<ACTION, Integer> counts = new HashMap<>();
+        for(ACTION action : votes)
+            counts.put(action, counts.getOrDefault(action, 0) + 1);
+
+        return counts.entrySet().stream().max(Comparator.comparingInt(Map.Entry::getValue)).get().getKey();
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs the workers of a search and waits for them to finish. Every search starts its workers here, so how they are run
+ * is decided in one place:
+ * <ul>
+ *     <li>A search with one worker runs it on the calling thread.</li>
+ *     <li>A search called from a pool made by {@link #newSharedPool}, such as a batch of searches, runs its workers as
+ *     tasks in that pool. They share the pool's threads with the other searches instead of adding threads of their
+ *     own, and the calling thread works on them while it waits.</li>
+ *     <li>Otherwise, each worker gets a thread of its own. This includes searches called from any other
+ *     {@link ForkJoinPool}, such as the common pool, since a busy pool could leave workers waiting for a thread while
+ *     their time runs out.</li>
+ * </ul>
+ * Whichever way a worker runs, any core it holds from a {@link CoreGate} is given up when it finishes.
+ */
+public final class Workers {
+    private Workers() {}
+
+    /**
+     * @param parallelism the number of threads in the pool
+     *
+     * @return A new pool whose threads run the workers of the searches they call as tasks in the pool.
+     */
+    public static ForkJoinPool newSharedPool(int parallelism) {
+        return new ForkJoinPool(parallelism, SharedPoolThread::new, null, false);
+    }
+
+    /**
+     * Run {@code count} workers and wait for all of them to finish. If the calling thread is interrupted while waiting
+     * for worker threads, the workers are interrupted in turn and still waited for, and the calling thread's interrupt
+     * status is set again before returning.
+     *
+     * @param name the name of the search, which worker threads are named after
+     * @param count the number of workers
+     * @param body the work of a worker, given the worker's number
+     */
+    public static void run(String name, int count, IntConsumer body) {
+        final IntConsumer worker = workerNum -> {
+            try {
+                body.accept(workerNum);
+            } finally {
+                CoreGate.releaseHeld();
+            }
+        };
+
+        if(count == 1) {
+            worker.accept(0);
+        } else if(Thread.currentThread() instanceof SharedPoolThread) {
+            final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[count];
+            for(int workerNum = 0; workerNum < count; workerNum++) {
+                final int num = workerNum;
+                tasks[workerNum] = ForkJoinTask.adapt(() -> worker.accept(num));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            final Thread[] threads = new Thread[count];
+            for(int workerNum = 0; workerNum < count; workerNum++) {
+                final int num = workerNum;
+                threads[workerNum] = new Thread(() -> worker.accept(num), name + workerNum);
+                threads[workerNum].start();
+            }
+
+            // Keep waiting for every worker even if interrupted, so that none of them outlive the search.
+            boolean interrupted = false;
+            for(Thread thread : threads) {
+                while(true) {
+                    try {
+                        thread.join();
+                        break;
+                    } catch(InterruptedException e) {
+                        if(!interrupted) {
+                            interrupted = true;
+                            for(Thread other : threads)
+                                other.interrupt();
+                        }
+                    }
+                }
+            }
+
+            if(interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A thread of a pool made by {@link #newSharedPool}.
+     */
+    private static final class SharedPoolThread extends ForkJoinWorkerThread {
+        private SharedPoolThread(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.wallacewatler.javamcts.hidden;
+
+import com.github.wallacewatler.javamcts.DeterministicAction;
+import com.github.wallacewatler.javamcts.VisibleState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A node in a search tree for a two-player zero-sum game. This is the same as {@link StateNode}, but instead of one
+ * total per player it stores a single total value from player 0's point of view. A result with scores <i>s</i><sub>0
+ * </sub> and <i>s</i><sub>1</sub> has value (<i>s</i><sub>0</sub> - <i>s</i><sub>1</sub>) / 2, and player 1's value is
+ * its negation. For games whose scores sum to 1, this differs from player 0's score by a constant, so UCT selects the
+ * same branches as it would with separate totals.
+ */
+public final class ZeroSumNode<STATE extends VisibleState<STATE, ACTION>, ACTION extends DeterministicAction<STATE>> implements SearchNode<ACTION> {
+    private final ReentrantReadWriteLock statsLock = new ReentrantReadWriteLock();
+    private final ReentrantLock childCreationLock = new ReentrantLock();
+    private final ConcurrentHashMap<ACTION, ZeroSumNode<STATE, ACTION>> children = new ConcurrentHashMap<>();
+    public final STATE state;
+
+    /** Cached from {@link #state} since the state of a node never changes. */
+    private final List<ACTION> validActions;
+
+    /** Cached from {@link #state} since the state of a node never changes. */
+    private final int activePlayer;
+
+    /** Cached from {@link #state}; the value of the state if it is terminal. */
+    private final double value;
+    private final boolean isTerminal;
+
+    private volatile int visitCount = 0;
+    private double totalValue = 0;
+
+    /**
+     * @param scoreBuffer scratch space with two elements
+     */
+    public ZeroSumNode(STATE state, double[] scoreBuffer) {
+        this.state = state;
+        validActions = state.validActions();
+        activePlayer = state.activePlayer();
+        isTerminal = state.isTerminal();
+        if(isTerminal) {
+            state.scoresInto(scoreBuffer);
+            value = valueOf(scoreBuffer);
+        } else {
+            value = 0;
+        }
+    }
+
+    /**
+     * @param scores the scores of both players
+     *
+     * @return The value of {@code scores} from player 0's point of view.
+     */
+    public static double valueOf(double[] scores) {
+        return (scores[0] - scores[1]) / 2;
+    }
+
+    @Override
+    public int visitCount() {
+        return visitCount;
+    }
+
+    @Override
+    public double totalScore(int activePlayer) {
+        return activePlayer == 0 ? totalValue : -totalValue;
+    }
+
+    /**
+     * @return The total value of this node from player 0's point of view.
+     */
+    public double totalValue() {
+        return totalValue;
+    }
+
+    @Override
+    public ZeroSumNode<STATE, ACTION> getChild(ACTION action) {
+        return children.get(action);
+    }
+
+    @Override
+    public int selectCount(ACTION action) {
+        return getChild(action).visitCount;
+    }
+
+    @Override
+    public int availableCount(ACTION action) {
+        return visitCount;
+    }
+
+    @Override
+    public ReadWriteLock statsLock() {
+        return statsLock;
+    }
+
+    /**
+     * Create the child for {@code action} if it doesn't already exist. Locking only happens if the child has to be
+     * created, so that computing its state is not duplicated by other threads.
+     *
+     * @param table a transposition table, or null if none is used; it must be concurrent if threads share it
+     * @param scoreBuffer scratch space with two elements
+     *
+     * @return The child corresponding to {@code action}.
+     */
+    public ZeroSumNode<STATE, ACTION> createChildIfNotPresent(ACTION action, Map<STATE, ZeroSumNode<STATE, ACTION>> table, double[] scoreBuffer) {
+        ZeroSumNode<STATE, ACTION> child = children.get(action);
+        if(child != null)
+            return child;
+
+        childCreationLock.lock();
+
+        child = children.get(action);
+        if(child == null) {
+            final STATE state = action.applyToState(this.state.copy());
+            if(table == null) {
+                child = new ZeroSumNode<>(state, scoreBuffer);
+            } else {
+                child = table.get(state);
+                if(child == null) {
+                    // If another parent reached the same state in the meantime, its node is kept and this one is dropped.
+                    final ZeroSumNode<STATE, ACTION> newChild = new ZeroSumNode<>(state, scoreBuffer);
+                    final ZeroSumNode<STATE, ACTION> existing = table.putIfAbsent(state, newChild);
+                    child = existing == null ? newChild : existing;
+                }
+            }
+            children.put(action, child);
+        }
+
+        childCreationLock.unlock();
+        return child;
+    }
+
+    /**
+     * @return The valid actions from this node's state. The returned list must not be modified.
+     */
+    public List<ACTION> validActions() {
+        return validActions;
+    }
+
+    /**
+     * @return The player who needs to do an action in this node's state.
+     */
+    public int activePlayer() {
+        return activePlayer;
+    }
+
+    /**
+     * @return The value of this node's state from player 0's point of view. This is only meaningful if the state is
+     * terminal.
+     */
+    public double value() {
+        return value;
+    }
+
+    /**
+     * @return True if this node's state is terminal.
+     */
+    public boolean isTerminal() {
+        return isTerminal;
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void updateValue(double value) {
+        statsLock.writeLock().lock();
+
+        visitCount++;
+        totalValue += value;
+
+        statsLock.writeLock().unlock();
+    }
+
+    /**
+     * @return The number of nodes in this tree.
+     */
+    public int numNodes() {
+        int num = 1;
+        for(ZeroSumNode<STATE, ACTION> child : children.values())
+            num += child.numNodes();
+
+        return num;
+    }
+
+    @Override
+    public String toString() {
+        return "ZeroSumNode{" +
+                "visitCount=" + visitCount +
+                ", totalValue=" + totalValue +
+                '}';
+    }
+}
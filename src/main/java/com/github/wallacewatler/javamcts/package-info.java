@@ -8,9 +8,10 @@
  *     <li>Multiple-observer Information Set MCTS</li>
  * </ul>
  * Between these algorithms, JavaMCTS can handle deterministic actions, stochastic actions, non-discrete state spaces,
- * hidden information, and simultaneous actions. All algorithms support any number of players, configurable limits on
- * search time and number of iterations, and parallelized search (either root- or tree-parallelized, your choice) with a
- * configurable number of threads. Closed Loop MCTS supports transposition tables.
+ * hidden information, and simultaneous actions. All algorithms except two-player zero-sum MCTS and single-player SP-MCTS
+ * support any number of players. All of them support configurable limits on search time and number of iterations, and
+ * parallelized search (root-, tree-, or hybrid-parallelized, your choice) with a configurable number of threads.
+ * Closed Loop MCTS supports transposition tables.
  *
  * @see com.github.wallacewatler.javamcts.MCTS
  * @see com.github.wallacewatler.javamcts.OLMCTS
@@ -1,3 +1,5 @@
 module javamcts {
+    requires java.management;
+
     exports com.github.wallacewatler.javamcts;
-}
\ No newline at end of file
+}
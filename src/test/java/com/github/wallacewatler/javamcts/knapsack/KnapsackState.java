@@ -0,0 +1,126 @@
+package com.github.wallacewatler.javamcts.knapsack;
+
+import com.github.wallacewatler.javamcts.VisibleState;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A 0-1 knapsack puzzle. Items are considered one at a time, and each is either packed or skipped. The score is the
+ * total value packed, divided by the total value of all items so that it lies in [0.0, 1.0].
+ */
+public final class KnapsackState implements VisibleState<KnapsackState, PackItem> {
+    final int[] weights;
+    final int[] values;
+    private final int totalValue;
+
+    /** The index of the next item to consider. */
+    int nextItem;
+    int remainingCapacity;
+    int value;
+
+    /** Generate a random puzzle. */
+    public KnapsackState(int numItems, Random rand) {
+        weights = new int[numItems];
+        values = new int[numItems];
+        int totalWeight = 0;
+        int totalValue = 0;
+        for(int i = 0; i < numItems; i++) {
+            weights[i] = 1 + rand.nextInt(100);
+            values[i] = 1 + rand.nextInt(100);
+            totalWeight += weights[i];
+            totalValue += values[i];
+        }
+        this.totalValue = totalValue;
+        nextItem = 0;
+        remainingCapacity = totalWeight / 3;
+        value = 0;
+    }
+
+    /** Copy a state. The items are shared since they never change. */
+    public KnapsackState(KnapsackState state) {
+        weights = state.weights;
+        values = state.values;
+        totalValue = state.totalValue;
+        nextItem = state.nextItem;
+        remainingCapacity = state.remainingCapacity;
+        value = state.value;
+    }
+
+    /**
+     * @return The best possible score, found by dynamic programming.
+     */
+    public double optimalScore() {
+        final int[] best = new int[remainingCapacity + 1];
+        for(int i = nextItem; i < weights.length; i++) {
+            for(int c = remainingCapacity; c >= weights[i]; c--)
+                best[c] = Math.max(best[c], best[c - weights[i]] + values[i]);
+        }
+        return (double) (value + best[remainingCapacity]) / totalValue;
+    }
+
+    /**
+     * @return An upper bound on the score reachable from this state: the score if every remaining item that fits on
+     * its own were packed.
+     */
+    public double scoreBound() {
+        int bound = value;
+        for(int i = nextItem; i < weights.length; i++) {
+            if(weights[i] <= remainingCapacity)
+                bound += values[i];
+        }
+        return (double) bound / totalValue;
+    }
+
+    @Override
+    public int activePlayer() {
+        return 0;
+    }
+
+    @Override
+    public List<PackItem> validActions() {
+        if(nextItem == weights.length)
+            return List.of();
+
+        return weights[nextItem] <= remainingCapacity ? List.of(PackItem.TAKE, PackItem.SKIP) : List.of(PackItem.SKIP);
+    }
+
+    @Override
+    public PackItem randomAction(Random rand) {
+        return weights[nextItem] <= remainingCapacity && rand.nextBoolean() ? PackItem.TAKE : PackItem.SKIP;
+    }
+
+    @Override
+    public double[] scores() {
+        return isTerminal() ? new double[] { (double) value / totalValue } : null;
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return nextItem == weights.length;
+    }
+
+    @Override
+    public void scoresInto(double[] out) {
+        out[0] = (double) value / totalValue;
+    }
+
+    @Override
+    public KnapsackState copy() {
+        return new KnapsackState(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) return true;
+        if(o == null || getClass() != o.getClass()) return false;
+        KnapsackState that = (KnapsackState) o;
+        return nextItem == that.nextItem && remainingCapacity == that.remainingCapacity && value == that.value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nextItem, remainingCapacity, value);
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.wallacewatler.javamcts.knapsack;
+
+import com.github.wallacewatler.javamcts.DeterministicAction;
+
+/**
+ * The only type of action in the knapsack puzzle: decide whether to pack the next item.
+ *
+ * @param take Whether the item is packed.
+ */
+public record PackItem(boolean take) implements DeterministicAction<KnapsackState> {
+    static final PackItem TAKE = new PackItem(true);
+    static final PackItem SKIP = new PackItem(false);
+
+    @Override
+    public KnapsackState applyToState(KnapsackState state) {
+        if(take) {
+            state.remainingCapacity -= state.weights[state.nextItem];
+            state.value += state.values[state.nextItem];
+        }
+        state.nextItem++;
+        return state;
+    }
+}
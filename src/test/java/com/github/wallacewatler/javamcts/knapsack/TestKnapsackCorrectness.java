@@ -0,0 +1,50 @@
+package com.github.wallacewatler.javamcts.knapsack;
+
+import com.github.wallacewatler.javamcts.*;
+
+import java.util.Random;
+
+final class TestKnapsackCorrectness {
+    public static void main(String[] args) {
+        test(new SPMCTSRP(), false, false);
+        test(new SPMCTSRP(), true, true);
+        test(new SPMCTSTP(), false, false);
+        test(new SPMCTSTP(), false, true);
+        test(new SPMCTSTP(), true, false);
+        test(new SPMCTSTP(), true, true);
+        test(new SPMCTSHP(2), false, false);
+        test(new SPMCTSHP(2), true, true);
+        testRejected(new SPMCTSHP(2), new SearchParameters(0, Long.MAX_VALUE, 20000, new UCT(), 4).withProgressiveWidening(new ProgressiveWidening()));
+    }
+
+    private static void test(SPMCTS mcts, boolean useTable, boolean prune) {
+        final KnapsackState rootState = new KnapsackState(24, new Random(0));
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 20000, new UCT(0.1, true), mcts instanceof SPMCTSHP ? 4 : 1);
+
+        final SPSearchResults<PackItem> results = prune
+                ? mcts.search(rootState, params, new Random(), useTable, KnapsackState::scoreBound)
+                : mcts.search(rootState, params, new Random(), useTable);
+
+        // Replay the best sequence to check that it really scores what the search claims.
+        KnapsackState state = rootState.copy();
+        for(PackItem action : results.bestSequence())
+            state = action.applyToState(state);
+
+        if(!state.isTerminal() || state.scores()[0] != results.bestScore())
+            throw new AssertionError("best sequence does not reach the reported score");
+
+        System.out.printf("%s (table: %b, prune: %b): %.4f of optimal %.4f after %,.0f iterations, %,d nodes%n",
+                mcts, useTable, prune, results.bestScore(), rootState.optimalScore(), results.itersPerThread(), results.numNodes());
+    }
+
+    private static void testRejected(SPMCTS mcts, SearchParameters params) {
+        try {
+            mcts.search(new KnapsackState(24, new Random(0)), params, new Random(), false);
+        } catch(IllegalArgumentException e) {
+            System.out.println(mcts + " rejected unsupported parameters: " + e.getMessage());
+            return;
+        }
+
+        throw new AssertionError(mcts + " accepted unsupported parameters " + params);
+    }
+}
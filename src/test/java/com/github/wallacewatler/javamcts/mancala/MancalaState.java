@@ -1,13 +1,18 @@
 package com.github.wallacewatler.javamcts.mancala;
 
+import com.github.wallacewatler.javamcts.IntActionState;
 import com.github.wallacewatler.javamcts.VisibleState;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
 import java.util.stream.IntStream;
 
-public final class MancalaState implements VisibleState<MancalaState, ChooseHole> {
+public final class MancalaState implements VisibleState<MancalaState, ChooseHole>, IntActionState<MancalaState> {
+    /** One action for each hole, so that simulations don't have to create them. */
+    private static final ChooseHole[] ACTIONS = IntStream.range(0, 14).mapToObj(ChooseHole::new).toArray(ChooseHole[]::new);
+
     /** The player about to act. */
     public int activePlayer;
 
@@ -52,20 +57,87 @@ public final class MancalaState implements VisibleState<MancalaState, ChooseHole
         };
     }
 
+    @Override
+    public ChooseHole randomAction(Random rand) {
+        final int first = activePlayer == 0 ? 0 : 7;
+        int numValid = 0;
+        for(int i = first; i < first + 6; i++) {
+            if(holes[i] > 0)
+                numValid++;
+        }
+
+        int skip = rand.nextInt(numValid);
+        for(int i = first; ; i++) {
+            if(holes[i] > 0 && skip-- == 0)
+                return ACTIONS[i];
+        }
+    }
+
+    @Override
+    public int actionCount() {
+        return 14;
+    }
+
+    @Override
+    public int validActions(int[] out) {
+        final int first = activePlayer == 0 ? 0 : 7;
+        int numValid = 0;
+        for(int i = first; i < first + 6; i++) {
+            if(holes[i] > 0)
+                out[numValid++] = i;
+        }
+
+        return numValid;
+    }
+
+    @Override
+    public MancalaState applyAction(int action) {
+        return ACTIONS[action].applyToState(this);
+    }
+
+    @Override
+    public int randomAction(Random rand, int[] scratch) {
+        return randomAction(rand).hole();
+    }
+
     @Override
     public double[] scores() {
-        final int numOnBoard = Arrays.stream(holes, 0, 6).sum() + Arrays.stream(holes, 7, 13).sum();
+        if(!isTerminal())
+            return null;
+
+        final double[] scores = new double[2];
+        scoresInto(scores);
+        return scores;
+    }
+
+    @Override
+    public double maxScore() {
+        return 1.0;
+    }
 
-        if(holes[6] > holes[13] + numOnBoard)
-            return new double[] { 1.0, 0.0 };
+    @Override
+    public boolean isTerminal() {
+        final int numOnBoard = numOnBoard();
+        return holes[6] > holes[13] + numOnBoard || holes[13] > holes[6] + numOnBoard || (holes[6] == holes[13] && numOnBoard == 0);
+    }
 
-        if(holes[13] > holes[6] + numOnBoard)
-            return new double[] { 0.0, 1.0 };
+    @Override
+    public void scoresInto(double[] out) {
+        if(holes[6] == holes[13]) {
+            out[0] = 0.5;
+            out[1] = 0.5;
+        } else {
+            out[0] = holes[6] > holes[13] ? 1.0 : 0.0;
+            out[1] = 1.0 - out[0];
+        }
+    }
 
-        if(holes[6] == holes[13] && numOnBoard == 0)
-            return new double[] { 0.5, 0.5 };
+    private int numOnBoard() {
+        int num = 0;
+        for(int i = 0; i < 6; i++)
+            num += holes[i] + holes[i + 7];
 
-        return null;
+        return num;
     }
 
     @Override
@@ -0,0 +1,163 @@
+package com.github.wallacewatler.javamcts.mancala;
+
+import com.github.wallacewatler.javamcts.PackedGame;
+
+import java.util.Random;
+
+/**
+ * The rules of mancala on packed states. Each hole takes 8 bits; holes 0 to 6 are in word 0 and holes 7 to 13 are in
+ * word 1. The active player is stored in bit 56 of word 0. The rules are the same as {@link ChooseHole}.
+ */
+public final class PackedMancala implements PackedGame {
+    private static final int PLAYER_BIT = 56;
+
+    /** Pack a mancala state into words. */
+    public static long[] pack(MancalaState state) {
+        final long[] words = new long[2];
+        for(int i = 0; i < 14; i++)
+            set(words, i, state.holes[i]);
+
+        words[0] |= (long) state.activePlayer << PLAYER_BIT;
+        return words;
+    }
+
+    private static int get(long[] state, int hole) {
+        return (int) (state[hole / 7] >>> (8 * (hole % 7))) & 0xFF;
+    }
+
+    private static void set(long[] state, int hole, int count) {
+        final int shift = 8 * (hole % 7);
+        state[hole / 7] = (state[hole / 7] & ~(0xFFL << shift)) | ((long) count << shift);
+    }
+
+    @Override
+    public int wordCount() {
+        return 2;
+    }
+
+    @Override
+    public int actionCount() {
+        return 14;
+    }
+
+    @Override
+    public int activePlayer(long[] state) {
+        return (int) (state[0] >>> PLAYER_BIT) & 1;
+    }
+
+    @Override
+    public int validActions(long[] state, int[] out) {
+        final int first = activePlayer(state) == 0 ? 0 : 7;
+        int numValid = 0;
+        for(int i = first; i < first + 6; i++) {
+            if(get(state, i) > 0)
+                out[numValid++] = i;
+        }
+
+        return numValid;
+    }
+
+    @Override
+    public int randomAction(long[] state, Random rand, int[] scratch) {
+        // Side holes of the active player are the low 48 bits of one word; count the non-empty bytes.
+        final long side = state[activePlayer(state)] & 0xFFFF_FFFF_FFFFL;
+        int numValid = 0;
+        for(int i = 0; i < 6; i++) {
+            if((side >>> (8 * i) & 0xFF) != 0)
+                numValid++;
+        }
+
+        int skip = rand.nextInt(numValid);
+        for(int i = 0; ; i++) {
+            if((side >>> (8 * i) & 0xFF) != 0 && skip-- == 0)
+                return activePlayer(state) == 0 ? i : i + 7;
+        }
+    }
+
+    @Override
+    public void applyAction(long[] state, int hole) {
+        // Pick up pieces in chosen hole.
+        int remainingPieces = get(state, hole);
+        set(state, hole, 0);
+        int currentHole = hole;
+
+        // Deposit pieces one-by-one counter-clockwise around the board, skipping the opponent's store.
+        while(remainingPieces > 0) {
+            currentHole++;
+            switch(currentHole) {
+                case 6 -> { if(hole > 6) currentHole = 7; }
+                case 13 -> { if(hole < 6) currentHole = 0; }
+                case 14 -> currentHole = 0;
+                default -> {}
+            }
+            set(state, currentHole, get(state, currentHole) + 1);
+            remainingPieces--;
+        }
+
+        // Pass turn to the opponent (unless the following section overrides this).
+        int activePlayer = 1 - activePlayer(state);
+
+        // Capture pieces depending on which hole was landed on, or take another turn if a store was landed on.
+        switch(currentHole) {
+            case 0, 1, 2, 3, 4, 5 -> {
+                if(hole < 6 && get(state, currentHole) == 1) {
+                    set(state, 6, get(state, 6) + 1 + get(state, 12 - currentHole));
+                    set(state, currentHole, 0);
+                    set(state, 12 - currentHole, 0);
+                }
+            }
+            case 6 -> activePlayer = 0;
+            case 7, 8, 9, 10, 11, 12 -> {
+                if(hole > 6 && get(state, currentHole) == 1) {
+                    set(state, 13, get(state, 13) + 1 + get(state, 12 - currentHole));
+                    set(state, currentHole, 0);
+                    set(state, 12 - currentHole, 0);
+                }
+            }
+            case 13 -> activePlayer = 1;
+        }
+        state[0] = (state[0] & ~(1L << PLAYER_BIT)) | ((long) activePlayer << PLAYER_BIT);
+
+        // Check if the game has ended; if so, capture all remaining pieces appropriately.
+        final int count0 = sideCount(state, 0);
+        final int count1 = sideCount(state, 7);
+        if(count0 == 0 && count1 != 0) {
+            set(state, 13, get(state, 13) + count1);
+            for(int i = 7; i < 13; i++)
+                set(state, i, 0);
+        } else if(count1 == 0 && count0 != 0) {
+            set(state, 6, get(state, 6) + count0);
+            for(int i = 0; i < 6; i++)
+                set(state, i, 0);
+        }
+    }
+
+    private static int sideCount(long[] state, int first) {
+        int count = 0;
+        for(int i = first; i < first + 6; i++)
+            count += get(state, i);
+
+        return count;
+    }
+
+    @Override
+    public boolean isTerminal(long[] state) {
+        final int store0 = get(state, 6);
+        final int store1 = get(state, 13);
+        final int numOnBoard = sideCount(state, 0) + sideCount(state, 7);
+        return store0 > store1 + numOnBoard || store1 > store0 + numOnBoard || (store0 == store1 && numOnBoard == 0);
+    }
+
+    @Override
+    public void scoresInto(long[] state, double[] out) {
+        final int store0 = get(state, 6);
+        final int store1 = get(state, 13);
+        if(store0 == store1) {
+            out[0] = 0.5;
+            out[1] = 0.5;
+        } else {
+            out[0] = store0 > store1 ? 1.0 : 0.0;
+            out[1] = 1.0 - out[0];
+        }
+    }
+}
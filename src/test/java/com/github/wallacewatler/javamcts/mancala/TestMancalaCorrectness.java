@@ -2,6 +2,9 @@ package com.github.wallacewatler.javamcts.mancala;
 
 import com.github.wallacewatler.javamcts.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 final class TestMancalaCorrectness {
@@ -15,13 +18,84 @@ final class TestMancalaCorrectness {
         test(new MCTSTP(), false, true);
         test(new MCTSTP(), true, false);
         test(new MCTSTP(), true, true);
+
+        test(new MCTSHP(2), false, false);
+        test(new MCTSHP(2), false, true);
+        test(new MCTSHP(2), true, false);
+        test(new MCTSHP(2), true, true);
+
+        test(new MCTSRP(), true, true, new RAVE());
+        test(new MCTSTP(), false, true, new RAVE());
+        test(new MCTSHP(2), true, false, new RAVE(100));
+
+        test(new MCTSRP(), new UCB1Tuned());
+        test(new MCTSTP(), new PUCT());
+        test(new MCTSTP(), new ThompsonSampling());
+        test(new MCTSHP(2), new EpsilonGreedy());
+
+        test(new MCTSTP(), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 1).withProgressiveWidening(new ProgressiveWidening()), true);
+        test(new MCTSHP(2), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 4).withProgressiveWidening(new ProgressiveWidening(2, 0.25)), false);
+
+        testSolver(new MCTSRP(), false);
+        testSolver(new MCTSTP(), false);
+        testSolver(new MCTSTP(), true);
+        testSolver(new MCTSHP(2), true);
+
+        test(new ZeroSumMCTSRP(), false, false);
+        test(new ZeroSumMCTSRP(), true, true);
+        test(new ZeroSumMCTSTP(), false, false);
+        test(new ZeroSumMCTSTP(), true, true);
+        test(new ZeroSumMCTSHP(2), false, false);
+        test(new ZeroSumMCTSHP(2), true, true);
+        testRejected(new ZeroSumMCTSRP(), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 1).withSelectionPolicy(new UCB1Tuned()));
+        testRejected(new ZeroSumMCTSTP(), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 1).withRave(new RAVE()));
+        testRejected(new ZeroSumMCTSHP(2), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 4).withProgressiveWidening(new ProgressiveWidening()));
+
+        test(new IntMCTSRP(), false);
+        test(new IntMCTSRP(), true);
+        test(new IntMCTSTP(), false);
+        test(new IntMCTSTP(), true);
+        test(new IntMCTSHP(2), false);
+        test(new IntMCTSHP(2), true);
+        testRejected(new IntMCTSTP(), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 1).withSelectionPolicy(new PUCT()));
+
+        test(new PackedMCTSRP(), false, false);
+        test(new PackedMCTSRP(), true, true);
+        test(new PackedMCTSTP(), false, false);
+        test(new PackedMCTSTP(), true, true);
+        test(new PackedMCTSHP(2), false, false);
+        test(new PackedMCTSHP(2), true, true);
+        testRejected(new PackedMCTSRP(), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 1).withRave(new RAVE()));
+
+        testBatch(new MCTSRP(), 1);
+        testBatch(new MCTSTP(), 2);
+        testBatch(new MCTSHP(2), 4);
+        testScheduler(new MCTSTP(), 2, SchedulingPolicy.EARLIEST_DEADLINE_FIRST);
+        testScheduler(new MCTSHP(2), 4, SchedulingPolicy.FAIR_SHARE);
+        testCancel(new MCTSRP(), 1, false);
+        testCancel(new MCTSTP(), 2, false);
+        testCancel(new MCTSHP(2), 4, true);
     }
 
     private static void test(MCTS mcts, boolean favorUnexplored, boolean useTable) {
-        final MancalaState rootState = new MancalaState();
+        test(mcts, favorUnexplored, useTable, null);
+    }
 
+    private static void test(MCTS mcts, boolean favorUnexplored, boolean useTable, RAVE rave) {
         final UCT uct = new UCT(Math.sqrt(2), favorUnexplored);
-        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, uct, 1);
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, uct, mcts instanceof MCTSHP || mcts instanceof ZeroSumMCTSHP ? 4 : 1)
+                .withRave(rave);
+        test(mcts, params, useTable);
+    }
+
+    private static void test(MCTS mcts, SelectionPolicy selectionPolicy) {
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), mcts instanceof MCTSHP ? 4 : 1)
+                .withSelectionPolicy(selectionPolicy);
+        test(mcts, params, true);
+    }
+
+    private static void test(MCTS mcts, SearchParameters params, boolean useTable) {
+        final MancalaState rootState = new MancalaState();
 
         while(!rootState.validActions().isEmpty()) {
             System.out.println("\n" + rootState.displayString());
@@ -30,4 +104,187 @@ final class TestMancalaCorrectness {
         }
         System.out.println("\n" + rootState.displayString());
     }
+
+    /** Search every position of a game in one batch and check that each gets a valid action. */
+    private static void testBatch(MCTS mcts, int threadCount) {
+        final ArrayList<MancalaState> positions = new ArrayList<>();
+        final MancalaState state = new MancalaState();
+        final Random rand = new Random();
+        while(!state.validActions().isEmpty()) {
+            positions.add(new MancalaState(state));
+            final List<ChooseHole> actions = state.validActions();
+            actions.get(rand.nextInt(actions.size())).applyToState(state);
+        }
+
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), threadCount);
+        final boolean[] searched = new boolean[positions.size()];
+        try(BatchSearch batch = new BatchSearch(4)) {
+            batch.searchAll(positions, rand, (position, searchRand) -> mcts.search(2, position, params, searchRand, true)).forEach(done -> {
+                if(!done.root().validActions().contains(done.result().bestAction()))
+                    throw new AssertionError(mcts + " chose an invalid action in " + done.root());
+                searched[done.index()] = true;
+            });
+        }
+
+        for(int i = 0; i < searched.length; i++)
+            if(!searched[i])
+                throw new AssertionError(mcts + " did not search position " + i);
+
+        System.out.println(mcts + " searched " + positions.size() + " positions in a batch");
+    }
+
+    /** Check that concurrent searches sharing one core all finish, and in the order of their deadlines. */
+    private static void testScheduler(MCTS mcts, int threadCount, SchedulingPolicy policy) {
+        final SearchScheduler scheduler = new SearchScheduler(1, policy);
+        final long[] maxTimes = { 100, 200, 300, 400 };
+        final long[] elapsed = new long[maxTimes.length];
+        final long[] finishedAt = new long[maxTimes.length];
+        final SearchResults<?>[] results = new SearchResults<?>[maxTimes.length];
+        final Thread[] games = new Thread[maxTimes.length];
+        for(int i = 0; i < games.length; i++) {
+            final int game = i;
+            games[i] = new Thread(() -> {
+                final SearchParameters params = new SearchParameters(0, maxTimes[game], Integer.MAX_VALUE, new UCT(), threadCount);
+                final long start = System.currentTimeMillis();
+                results[game] = scheduler.run(() -> mcts.search(2, new MancalaState(), params, new Random(), true));
+                finishedAt[game] = System.nanoTime();
+                elapsed[game] = System.currentTimeMillis() - start;
+            });
+            games[i].start();
+        }
+
+        for(Thread game : games) {
+            try {
+                game.join();
+            } catch(InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        // Absolute times depend on how loaded the machine is, so only check that the searches finish in deadline order.
+        for(int i = 0; i < games.length; i++) {
+            if(results[i] == null || results[i].bestAction() == null)
+                throw new AssertionError(mcts + " did not finish search " + i + " under " + scheduler);
+            if(i > 0 && finishedAt[i] < finishedAt[i - 1])
+                throw new AssertionError(mcts + " finished search " + i + " before search " + (i - 1) + " under " + scheduler + ": " + Arrays.toString(elapsed) + " ms");
+        }
+
+        System.out.println(mcts + " finished in deadline order under " + scheduler + ": " + Arrays.toString(elapsed) + " ms");
+    }
+
+    /** Check that a search refuses parameters it doesn't support instead of ignoring them. */
+    private static void testRejected(MCTS mcts, SearchParameters params) {
+        try {
+            mcts.search(2, new MancalaState(), params, new Random(), false);
+        } catch(IllegalArgumentException e) {
+            System.out.println(mcts + " rejected unsupported parameters: " + e.getMessage());
+            return;
+        }
+
+        throw new AssertionError(mcts + " accepted unsupported parameters " + params);
+    }
+
+    private static void testRejected(IntMCTS mcts, SearchParameters params) {
+        try {
+            mcts.search(2, new MancalaState(), params, new Random());
+        } catch(IllegalArgumentException e) {
+            System.out.println(mcts + " rejected unsupported parameters: " + e.getMessage());
+            return;
+        }
+
+        throw new AssertionError(mcts + " accepted unsupported parameters " + params);
+    }
+
+    private static void testRejected(PackedMCTS mcts, SearchParameters params) {
+        try {
+            mcts.search(2, new PackedMancala(), PackedMancala.pack(new MancalaState()), params, new Random(), false);
+        } catch(IllegalArgumentException e) {
+            System.out.println(mcts + " rejected unsupported parameters: " + e.getMessage());
+            return;
+        }
+
+        throw new AssertionError(mcts + " accepted unsupported parameters " + params);
+    }
+
+    /** Check that a search stopped from another thread returns before its minimum time, with a valid action and no workers left. */
+    private static void testCancel(MCTS mcts, int threadCount, boolean byInterrupt) {
+        // The search has no limit it could stop at by itself, and a minimum time far longer than the test waits for it.
+        final CancellationToken token = new CancellationToken();
+        final SearchParameters params = new SearchParameters(600_000, Long.MAX_VALUE, Integer.MAX_VALUE, new UCT(), threadCount).withCancellation(token);
+        final MancalaState rootState = new MancalaState();
+        final SearchResults<?>[] results = new SearchResults<?>[1];
+        final Thread search = new Thread(() -> results[0] = mcts.search(2, rootState, params, new Random(), true));
+        search.start();
+
+        final long stopAt = System.currentTimeMillis() + 100;
+        try {
+            Thread.sleep(100);
+            if(byInterrupt)
+                search.interrupt();
+            else
+                token.cancel();
+            search.join(60_000);
+        } catch(InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+
+        final long latency = System.currentTimeMillis() - stopAt;
+        final String how = byInterrupt ? "interrupt" : "cancellation";
+        if(search.isAlive())
+            throw new AssertionError(mcts + " did not stop after " + how);
+        if(results[0] == null || !rootState.validActions().contains(results[0].bestAction()))
+            throw new AssertionError(mcts + " did not return a valid action after " + how);
+        for(Thread thread : Thread.getAllStackTraces().keySet())
+            if(thread.getName().startsWith(mcts.getClass().getSimpleName().toLowerCase()))
+                throw new AssertionError(mcts + " left worker " + thread.getName() + " running after " + how);
+
+        System.out.println(mcts + " stopped " + latency + " ms after " + how + " with " + results[0].itersPerThread() + " iterations per thread: " + results[0].bestAction());
+    }
+
+    /** Check that a small endgame is proven long before the iteration limit. */
+    private static void testSolver(MCTS mcts, boolean useTable) {
+        final MancalaState rootState = new MancalaState();
+        System.arraycopy(new int[] { 1, 0, 2, 0, 1, 1, 20, 0, 1, 2, 0, 1, 1, 18 }, 0, rootState.holes, 0, 14);
+
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1_000_000, new UCT(), mcts instanceof MCTSHP ? 4 : 1);
+        final SearchResults<ChooseHole> results = mcts.search(2, rootState, params, new Random(), useTable);
+        if(results.itersPerThread() >= params.maxIters())
+            throw new AssertionError(mcts + " did not prove the endgame");
+
+        System.out.println(mcts + " proved the endgame in " + results.itersPerThread() + " iterations per thread: " + results.bestAction());
+    }
+
+    private static void test(IntMCTS mcts, boolean favorUnexplored) {
+        final MancalaState rootState = new MancalaState();
+
+        final UCT uct = new UCT(Math.sqrt(2), favorUnexplored);
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, uct, mcts instanceof IntMCTSHP ? 4 : 1);
+
+        while(!rootState.isTerminal()) {
+            System.out.println("\n" + rootState.displayString());
+            final SearchResults<Integer> results = mcts.search(2, rootState, params, new Random());
+            rootState.applyAction(results.bestAction());
+        }
+        System.out.println("\n" + rootState.displayString());
+    }
+
+    private static void test(PackedMCTS mcts, boolean favorUnexplored, boolean useTable) {
+        final PackedMancala game = new PackedMancala();
+        final MancalaState rootState = new MancalaState();
+        final long[] packedState = PackedMancala.pack(rootState);
+
+        final UCT uct = new UCT(Math.sqrt(2), favorUnexplored);
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, uct, mcts instanceof PackedMCTSHP ? 4 : 1);
+
+        // Play the packed game alongside an ordinary one to check that the encodings agree.
+        while(!rootState.isTerminal()) {
+            System.out.println("\n" + rootState.displayString());
+            final SearchResults<Integer> results = mcts.search(2, game, packedState, params, new Random(), useTable);
+            rootState.applyAction(results.bestAction());
+            game.applyAction(packedState, results.bestAction());
+            if(!Arrays.equals(packedState, PackedMancala.pack(rootState)))
+                throw new AssertionError("packed state does not match " + rootState);
+        }
+        System.out.println("\n" + rootState.displayString());
+    }
 }
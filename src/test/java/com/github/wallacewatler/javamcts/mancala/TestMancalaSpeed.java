@@ -39,6 +39,48 @@ final class TestMancalaSpeed {
         test(new MCTSTP(),  true,  true, 2);
         test(new MCTSTP(),  true,  true, 3);
         test(new MCTSTP(),  true,  true, 4);
+
+        test(new MCTSHP(2), false, false, 2);
+        test(new MCTSHP(2), false, false, 4);
+        test(new MCTSHP(2), false,  true, 2);
+        test(new MCTSHP(2), false,  true, 4);
+        test(new MCTSHP(2),  true, false, 2);
+        test(new MCTSHP(2),  true, false, 4);
+        test(new MCTSHP(2),  true,  true, 2);
+        test(new MCTSHP(2),  true,  true, 4);
+
+        test(new ZeroSumMCTSRP(), false, false, 1);
+        test(new ZeroSumMCTSRP(), false,  true, 1);
+        test(new ZeroSumMCTSRP(), false, false, 4);
+        test(new ZeroSumMCTSRP(), false,  true, 4);
+        test(new ZeroSumMCTSTP(), false, false, 1);
+        test(new ZeroSumMCTSTP(), false,  true, 1);
+        test(new ZeroSumMCTSTP(), false, false, 4);
+        test(new ZeroSumMCTSTP(), false,  true, 4);
+        test(new ZeroSumMCTSHP(2), false, false, 4);
+        test(new ZeroSumMCTSHP(2), false,  true, 4);
+
+        test(new IntMCTSRP(), false, 1);
+        test(new IntMCTSRP(), false, 4);
+        test(new IntMCTSRP(),  true, 1);
+        test(new IntMCTSRP(),  true, 4);
+        test(new IntMCTSTP(), false, 1);
+        test(new IntMCTSTP(), false, 4);
+        test(new IntMCTSTP(),  true, 1);
+        test(new IntMCTSTP(),  true, 4);
+        test(new IntMCTSHP(2), false, 4);
+        test(new IntMCTSHP(2),  true, 4);
+
+        test(new PackedMCTSRP(), false, false, 1);
+        test(new PackedMCTSRP(), false,  true, 1);
+        test(new PackedMCTSRP(), false, false, 4);
+        test(new PackedMCTSRP(), false,  true, 4);
+        test(new PackedMCTSTP(), false, false, 1);
+        test(new PackedMCTSTP(), false,  true, 1);
+        test(new PackedMCTSTP(), false, false, 4);
+        test(new PackedMCTSTP(), false,  true, 4);
+        test(new PackedMCTSHP(2), false, false, 4);
+        test(new PackedMCTSHP(2), false,  true, 4);
     }
 
     private static void test(MCTS mcts, boolean favorUnexplored, boolean useTable, int threadCount) {
@@ -84,4 +126,69 @@ final class TestMancalaSpeed {
 
         System.out.println("----- END TEST -----");
     }
+
+    private static void test(IntMCTS mcts, boolean favorUnexplored, int threadCount) {
+        final Sampler itersPerSec = new Sampler();
+        final Sampler numNodes = new Sampler();
+        final int warmupSamples = 10;
+        final int realSamples = 30;
+
+        final MancalaState rootState = new MancalaState();
+        final UCT uct = new UCT(Math.sqrt(2), favorUnexplored);
+        final SearchParameters params = new SearchParameters(0, 1000, Integer.MAX_VALUE, uct, threadCount);
+
+        System.out.println("---- BEGIN TEST ----");
+        System.out.println("Algorithm: " + mcts);
+        System.out.println("Favor unexplored: " + favorUnexplored);
+        System.out.println("Threads: " + threadCount);
+
+        for(int i = 0; i < warmupSamples + realSamples; i++) {
+            if(i == warmupSamples)
+                itersPerSec.reset();
+
+            final SearchResults<Integer> results = mcts.search(2, rootState, params, new Random());
+            itersPerSec.addSample(1000 * results.itersPerThread() * threadCount / results.duration());
+            numNodes.addSample(results.numNodes());
+            final String itersPerSecCI = String.format("%,.0f ± %,.0f", itersPerSec.getMean(), itersPerSec.getStdDev() * 2);
+            final String numNodesCI = String.format("%,.0f ± %,.0f", numNodes.getMean(), numNodes.getStdDev() * 2);
+            System.out.printf("%s%s iterations / sec | %s nodes%n", i < warmupSamples ? "[WARMUP] " : "", itersPerSecCI, numNodesCI);
+        }
+
+        System.out.println("----- END TEST -----");
+    }
+
+    private static void test(PackedMCTS mcts, boolean favorUnexplored, boolean useTable, int threadCount) {
+        final Sampler itersPerSec = new Sampler();
+        final Sampler numNodes = new Sampler();
+        final Sampler numStates = new Sampler();
+        final int warmupSamples = 10;
+        final int realSamples = 30;
+
+        final PackedMancala game = new PackedMancala();
+        final long[] rootState = PackedMancala.pack(new MancalaState());
+        final UCT uct = new UCT(Math.sqrt(2), favorUnexplored);
+        final SearchParameters params = new SearchParameters(0, 1000, Integer.MAX_VALUE, uct, threadCount);
+
+        System.out.println("---- BEGIN TEST ----");
+        System.out.println("Algorithm: " + mcts);
+        System.out.println("Favor unexplored: " + favorUnexplored);
+        System.out.println("Use table: " + useTable);
+        System.out.println("Threads: " + threadCount);
+
+        for(int i = 0; i < warmupSamples + realSamples; i++) {
+            if(i == warmupSamples)
+                itersPerSec.reset();
+
+            final SearchResults<Integer> results = mcts.search(2, game, rootState, params, new Random(), useTable);
+            itersPerSec.addSample(1000 * results.itersPerThread() * threadCount / results.duration());
+            numNodes.addSample(results.numNodes());
+            numStates.addSample(results.numStates());
+            final String itersPerSecCI = String.format("%,.0f ± %,.0f", itersPerSec.getMean(), itersPerSec.getStdDev() * 2);
+            final String numNodesCI = String.format("%,.0f ± %,.0f", numNodes.getMean(), numNodes.getStdDev() * 2);
+            final String numStatesCI = String.format("%,.0f ± %,.0f", numStates.getMean(), numStates.getStdDev() * 2);
+            System.out.printf("%s%s iterations / sec | %s nodes | %s states%n", i < warmupSamples ? "[WARMUP] " : "", itersPerSecCI, numNodesCI, numStatesCI);
+        }
+
+        System.out.println("----- END TEST -----");
+    }
 }
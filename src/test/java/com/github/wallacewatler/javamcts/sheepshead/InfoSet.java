@@ -127,6 +127,11 @@ public final class InfoSet implements com.github.wallacewatler.javamcts.InfoSet<
         return pov;
     }
 
+    @Override
+    public SheepsheadState copyDeterminization(SheepsheadState state) {
+        return new SheepsheadState(state);
+    }
+
     @Override
     public SheepsheadState determinize(Random rand) {
         if(pov != playerAboutToMove)
@@ -1,5 +1,6 @@
 package com.github.wallacewatler.javamcts.sheepshead;
 
+import com.github.wallacewatler.javamcts.ObservableAction;
 import com.github.wallacewatler.javamcts.StochasticAction;
 
 import java.util.Random;
@@ -7,7 +8,7 @@ import java.util.Random;
 /**
  * The only type of action in my simplified Sheepshead. It is visible to everyone.
  */
-public record PlayCard(Card card) implements StochasticAction<SheepsheadState> {
+public record PlayCard(Card card) implements StochasticAction<SheepsheadState>, ObservableAction<SheepsheadState> {
     @Override
     public SheepsheadState applyToState(SheepsheadState state, Random rand) {
         final Player player = state.players[state.activePlayer];
@@ -25,6 +26,16 @@ public record PlayCard(Card card) implements StochasticAction<SheepsheadState> {
         return state;
     }
 
+    @Override
+    public Object observe(SheepsheadState context, int observer) {
+        return this;
+    }
+
+    @Override
+    public int observeId(SheepsheadState context, int observer) {
+        return card.suit().ordinal() * Rank.values().length + card.rank().ordinal();
+    }
+
     public InfoSet applyToInfoSet(InfoSet infoSet) {
         final PlayerInfo player = infoSet.playerInfos[infoSet.playerAboutToMove];
         player.handSize--;
@@ -11,6 +11,12 @@ public final class Player {
         this.hand.addAll(hand);
     }
 
+    public Player(Player player) {
+        hand.addAll(player.hand);
+        // Taken tricks are complete and never change, so they can be shared.
+        takenTricks.addAll(player.takenTricks);
+    }
+
     @Override
     public String toString() {
         return "Player{" +
@@ -33,6 +33,15 @@ public final class SheepsheadState implements State<PlayCard> {
 
     public SheepsheadState() {}
 
+    public SheepsheadState(SheepsheadState state) {
+        activePlayer = state.activePlayer;
+        for(int i = 0; i < 4; i++)
+            players[i] = new Player(state.players[i]);
+        blind[0] = state.blind[0];
+        blind[1] = state.blind[1];
+        trickOnTable = new Trick(state.trickOnTable);
+    }
+
     @Override
     public int activePlayer() {
         return activePlayer;
@@ -5,27 +5,62 @@ import com.github.wallacewatler.javamcts.*;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.function.BiFunction;
 import java.util.stream.IntStream;
 
 public final class TestSheepsheadCorrectness {
     public static void main(String[] args) {
         testISMCTS(new ISMCTSRP());
         testISMCTS(new ISMCTSTP());
+        testISMCTS(new ISMCTSHP(2));
+        testISMCTS(new ISMCTSTP(), new RAVE(), new UCT());
+        testISMCTS(new ISMCTSRP(), null, new UCB1Tuned());
+        testISMCTS(new ISMCTSHP(2), null, new ThompsonSampling());
+        testISMCTS(new ISMCTSTP(), null, null, new ProgressiveWidening());
+        testISMCTS(new ISMCTSRP(), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 4).withDeterminizationReuse(new DeterminizationReuse(8)));
+        testISMCTS(new ISMCTSTP(), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 4).withDeterminizationReuse(new DeterminizationReuse(4, 16)));
+        testISMCTS(new ISMCTSTP(), new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(), 4).withDeterminizationReuse(new DeterminizationReuse(1, 64, 2)));
+        testMOISMCTS(new MOISMCTSRP());
+        testMOISMCTS(new MOISMCTSTP());
+        testMOISMCTS(new MOISMCTSHP(2));
     }
 
     private static void testISMCTS(ISMCTS ismcts) {
+        testISMCTS(ismcts, null, null);
+    }
+
+    private static void testISMCTS(ISMCTS ismcts, RAVE rave, SelectionPolicy selectionPolicy) {
+        testISMCTS(ismcts, rave, selectionPolicy, null);
+    }
+
+    private static void testISMCTS(ISMCTS ismcts, RAVE rave, SelectionPolicy selectionPolicy, ProgressiveWidening progressiveWidening) {
+        final UCT uct = new UCT(Math.sqrt(2), true);
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, uct, 4)
+                .withRave(rave)
+                .withSelectionPolicy(selectionPolicy)
+                .withProgressiveWidening(progressiveWidening);
+        testISMCTS(ismcts, params);
+    }
+
+    private static void testISMCTS(ISMCTS ismcts, SearchParameters params) {
+        playGame((infoSet, rand) -> ismcts.search(4, infoSet, params, rand));
+    }
+
+    private static void testMOISMCTS(MOISMCTS moismcts) {
+        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, new UCT(Math.sqrt(2), true), 4);
+        playGame((infoSet, rand) -> moismcts.search(4, infoSet, params, rand));
+    }
+
+    private static void playGame(BiFunction<InfoSet, Random, SearchResults<PlayCard>> search) {
         final Random rand = new Random();
 
         final SheepsheadState rootState = new SheepsheadState(rand);
         final List<InfoSet> infoSets = IntStream.range(0, 4).mapToObj(i -> new InfoSet(rootState, i)).toList();
 
-        final UCT uct = new UCT(Math.sqrt(2), true);
-        final SearchParameters params = new SearchParameters(0, Long.MAX_VALUE, 1000, uct, 4);
-
         while(!rootState.validActions().isEmpty()) {
             System.out.println("Table: " + Arrays.toString(rootState.trickOnTable.cards) + ", led " + rootState.trickOnTable.ledCard());
 
-            final SearchResults<PlayCard> results = ismcts.search(4, infoSets.get(rootState.activePlayer), params, rand);
+            final SearchResults<PlayCard> results = search.apply(infoSets.get(rootState.activePlayer), rand);
             final PlayCard bestAction = results.bestAction();
             bestAction.applyToState(rootState, rand);
             for(int pov = 0; pov < 4; pov++)
@@ -16,6 +16,8 @@ public final class TestSheepsheadSpeed {
         test(new ISMCTSTP(), 2);
         test(new ISMCTSTP(), 3);
         test(new ISMCTSTP(), 4);
+        test(new ISMCTSHP(2), 2);
+        test(new ISMCTSHP(2), 4);
     }
 
     private static void test(ISMCTS ismcts, int threadCount) {